@@ -0,0 +1,53 @@
+package ca.dauqui.sodokusolver.bench;
+
+import ca.dauqui.sodokusolver.batch.PuzzleFormat;
+import ca.dauqui.sodokusolver.game.Grid;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The fixed sets of puzzles used by the benchmarks, one per difficulty
+ * EASY puzzles are solved by the single possible place solver alone, MEDIUM ones need all the solvers,
+ * HARD ones need the search and PATHOLOGICAL ones are well known puzzles built to be hard for solvers
+ * The files are the test puzzles of sodoku-core, the build of this module copies them
+ */
+public enum Corpus {
+    EASY,
+    MEDIUM,
+    HARD,
+    PATHOLOGICAL,
+    ;
+
+    /**
+     * @return the puzzles of the corpus, one line each in the format of the batch solver
+     */
+    public List<byte[]> puzzles() {
+        String resource = "/puzzles/" + name().toLowerCase(Locale.ROOT) + ".txt";
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Corpus.class.getResourceAsStream(resource), StandardCharsets.US_ASCII))) {
+            return reader.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(line -> line.getBytes(StandardCharsets.US_ASCII))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * resets the grid and sets the givens of the puzzle, as the batch solver does
+     * @param grid the grid to load the puzzle in
+     * @param puzzle a puzzle line of the size of the grid
+     */
+    public static void load(Grid grid, byte[] puzzle) {
+        if (!PuzzleFormat.load(grid, puzzle, 0, puzzle.length)) {
+            throw new IllegalArgumentException("not a valid puzzle: " + new String(puzzle, StandardCharsets.US_ASCII));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package ca.dauqui.sodokusolver.bench;
+
+import ca.dauqui.sodokusolver.game.solvers.Difficulty;
+import ca.dauqui.sodokusolver.generator.PuzzleGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generation of rated minimal 9x9 puzzles
+ * Each thread has its own generator and random source, run with -t to see how the generation scales with the cores
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeneratorBenchmark {
+    private final PuzzleGenerator generator = new PuzzleGenerator();
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    /**
+     * a puzzle of any difficulty, rated
+     */
+    @Benchmark
+    public int[] generate() {
+        return generator.generate(random);
+    }
+
+    /**
+     * the rarest standard difficulty, about one puzzle in twenty
+     */
+    @Benchmark
+    public int[] generateHard() {
+        return generator.generate(random, Difficulty.HARD);
+    }
+}
\ No newline at end of file
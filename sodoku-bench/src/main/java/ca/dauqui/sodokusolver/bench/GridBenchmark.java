@@ -0,0 +1,83 @@
+package ca.dauqui.sodokusolver.bench;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.GridPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of getting an empty grid, by building a new one, by resetting an existing one
+ * or by taking one from a pool
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GridBenchmark {
+    private final GridPool pool = new GridPool(1);
+    private Grid grid;
+    private byte[] puzzle;
+    private int[] givens;
+
+    @Setup
+    public void setup() {
+        grid = new Grid();
+        puzzle = Corpus.HARD.puzzles().getFirst();
+        givens = new int[Grid.CELL_COUNT];
+        Corpus.load(grid, puzzle);
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            givens[index] = grid.getCell(index).getValue();
+        }
+    }
+
+    @Benchmark
+    public Grid construct() {
+        return new Grid();
+    }
+
+    /**
+     * a new grid for each puzzle, what the pool saves
+     */
+    @Benchmark
+    public Grid constructAndLoad() {
+        Grid fresh = new Grid();
+        fresh.loadGivens(givens);
+        return fresh;
+    }
+
+    /**
+     * loads a puzzle first so the reset has something to undo
+     */
+    @Benchmark
+    public Grid loadAndReset() {
+        Corpus.load(grid, puzzle);
+        grid.reset();
+        return grid;
+    }
+
+    @Benchmark
+    public Grid load() {
+        Corpus.load(grid, puzzle);
+        return grid;
+    }
+
+    @Benchmark
+    public Grid loadGivens() {
+        grid.loadGivens(givens);
+        return grid;
+    }
+
+    /**
+     * the grid goes back to the pool so each call reuses the same one
+     */
+    @Benchmark
+    public Grid pooled() {
+        Grid pooled = pool.acquire(Grid.BLOCK_SIZE);
+        pooled.loadGivens(givens);
+        pool.release(pooled);
+        return pooled;
+    }
+}
\ No newline at end of file
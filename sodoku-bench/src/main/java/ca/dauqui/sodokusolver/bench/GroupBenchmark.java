@@ -0,0 +1,38 @@
+package ca.dauqui.sodokusolver.bench;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the grouping of the cell positions by possible value, run by the solvers on every group of the grid
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GroupBenchmark {
+    @Param
+    public Corpus corpus;
+
+    private final Grid grid = new Grid();
+
+    @Setup
+    public void setup() {
+        Corpus.load(grid, corpus.puzzles().getFirst());
+    }
+
+    /**
+     * one call for each of the 27 groups, as done by one pass of a solver
+     */
+    @Benchmark
+    public void getPositionsByValue(Blackhole blackhole) {
+        for (int index = 0; index < Grid.GROUP_COUNT; index++) {
+            blackhole.consume(grid.getGroup(index).getPositionsByValue());
+        }
+    }
+}
\ No newline at end of file
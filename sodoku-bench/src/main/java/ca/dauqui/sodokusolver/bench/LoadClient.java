@@ -0,0 +1,125 @@
+package ca.dauqui.sodokusolver.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends the puzzles of a file to a running solving service of sodoku-server from many clients at once
+ * and prints the throughput and the latencies of the requests, to load test the service on the local machine
+ * <p>
+ * Usage: java -cp benchmarks.jar ca.dauqui.sodokusolver.bench.LoadClient [--url url] [--clients n] [--requests n]
+ * [--puzzles-per-request n] input
+ * Each client is a virtual thread sending its requests one after the other, the puzzles are taken in turn
+ * from the file. The defaults are http://localhost:8080/solve, 64 clients, 10000 requests and 1 puzzle per request
+ */
+public final class LoadClient {
+    private LoadClient() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        URI uri = URI.create("http://localhost:8080/solve");
+        int clients = 64;
+        int requestCount = 10_000;
+        int puzzlesPerRequest = 1;
+        int first = 0;
+        while (first + 1 < args.length && args[first].startsWith("--")) {
+            switch (args[first]) {
+                case "--url" -> uri = URI.create(args[++first]);
+                case "--clients" -> clients = Integer.parseInt(args[++first]);
+                case "--requests" -> requestCount = Integer.parseInt(args[++first]);
+                case "--puzzles-per-request" -> puzzlesPerRequest = Integer.parseInt(args[++first]);
+                default -> usage();
+            }
+            first++;
+        }
+        if (args.length - first != 1 || clients <= 0 || requestCount <= 0 || puzzlesPerRequest <= 0) {
+            usage();
+        }
+        List<String> puzzles = Files.readAllLines(Path.of(args[first])).stream()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty())
+                .toList();
+        if (puzzles.isEmpty()) {
+            System.err.println("no puzzle in " + args[first]);
+            System.exit(1);
+        }
+
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        long[] latencies = new long[requestCount];
+        AtomicInteger next = new AtomicInteger();
+        LongAdder failures = new LongAdder();
+        URI target = uri;
+        int perRequest = puzzlesPerRequest;
+        int total = requestCount;
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?>[] running = new Future<?>[clients];
+            for (int c = 0; c < clients; c++) {
+                running[c] = executor.submit(() -> {
+                    for (int request = next.getAndIncrement(); request < total; request = next.getAndIncrement()) {
+                        StringBuilder body = new StringBuilder();
+                        for (int p = 0; p < perRequest; p++) {
+                            body.append(puzzles.get((request * perRequest + p) % puzzles.size())).append('\n');
+                        }
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = client.send(HttpRequest.newBuilder(target)
+                                            .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build(),
+                                    HttpResponse.BodyHandlers.ofString());
+                            if (response.statusCode() != 200 || response.body().lines().count() != perRequest) {
+                                failures.increment();
+                            }
+                        } catch (IOException e) {
+                            failures.increment();
+                        }
+                        latencies[request] = System.nanoTime() - sent;
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : running) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf(Locale.ROOT, "%d requests, %d puzzles in %d ms: %.0f requests/s, %.0f puzzles/s, %d failed%n",
+                total, (long) total * perRequest, elapsed / 1_000_000, total * 1e9 / elapsed,
+                (double) total * perRequest * 1e9 / elapsed, failures.sum());
+        System.out.printf(Locale.ROOT, "latency ms: p50 %.2f, p90 %.2f, p99 %.2f, max %.2f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                latencies[total - 1] / 1e6);
+    }
+
+    private static void usage() {
+        System.err.println("Usage: LoadClient [--url url] [--clients n] [--requests n] [--puzzles-per-request n] input");
+        System.exit(2);
+    }
+
+    /**
+     * @param sorted the latencies in nanoseconds, sorted
+     * @return the latency under which the given fraction of the requests were answered, in milliseconds
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(fraction * sorted.length))] / 1e6;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package ca.dauqui.sodokusolver.bench;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.solvers.Solvers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the whole solving loop on each corpus
+ * Every benchmark loads the next puzzle of the corpus before solving it, so {@link #load()} is the baseline
+ * to subtract from the others
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PipelineBenchmark {
+    @Param
+    public Corpus corpus;
+
+    private final Grid grid = new Grid();
+    private List<byte[]> puzzles;
+    private int next;
+
+    @Setup
+    public void setup() {
+        puzzles = corpus.puzzles();
+    }
+
+    /**
+     * loads the next puzzle of the corpus in the grid
+     */
+    private Grid loadNext() {
+        Corpus.load(grid, puzzles.get(next));
+        next = (next + 1) % puzzles.size();
+        return grid;
+    }
+
+    @Benchmark
+    public Grid load() {
+        return loadNext();
+    }
+
+    /**
+     * the loop of all the solvers until none of them changes the grid
+     */
+    @Benchmark
+    public boolean propagate() {
+        return Solvers.propagate(loadNext());
+    }
+
+    /**
+     * the loop of all the solvers followed by the search
+     */
+    @Benchmark
+    public boolean solveAll() {
+        return Solvers.solveAll(loadNext());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package ca.dauqui.sodokusolver.bench;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.solvers.Solvers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one pass of each solver on each corpus
+ * The benchmark loads the next puzzle of the corpus before solving it, so {@link PipelineBenchmark#load()}
+ * is the baseline to subtract
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverBenchmark {
+    @Param
+    public Corpus corpus;
+
+    @Param
+    public Solvers solver;
+
+    private final Grid grid = new Grid();
+    private List<byte[]> puzzles;
+    private int next;
+
+    @Setup
+    public void setup() {
+        puzzles = corpus.puzzles();
+    }
+
+    /**
+     * loads the next puzzle of the corpus in the grid
+     */
+    private Grid loadNext() {
+        Corpus.load(grid, puzzles.get(next));
+        next = (next + 1) % puzzles.size();
+        return grid;
+    }
+
+    /**
+     * one pass of a single solver
+     */
+    @Benchmark
+    public boolean solve() {
+        return solver.solve(loadNext());
+    }
+}
\ No newline at end of file
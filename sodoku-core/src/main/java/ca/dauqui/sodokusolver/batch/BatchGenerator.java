@@ -0,0 +1,190 @@
+package ca.dauqui.sodokusolver.batch;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.solvers.Difficulty;
+import ca.dauqui.sodokusolver.generator.PuzzleGenerator;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Command line generator of puzzles with a unique solution
+ * Writes one puzzle per line in the format of the batch solver, empty cells written as '.'
+ * <p>
+ * The puzzles are generated in chunks by a work stealing pool, each worker thread using its own generator.
+ * Each chunk gets its own random generator split from the seed in the order of the chunks,
+ * so a seed gives the same file no matter the number of threads.
+ * <p>
+ * Usage: BatchGenerator [--threads n] [--seed s] [--difficulty easy|medium|hard|expert] [--block-size 2|3|4]
+ * count [output]
+ * "-" or a missing output means the standard output, the default number of threads is the number of cores,
+ * the default seed is random and by default the puzzles can be of any difficulty.
+ * The default block size 3 gives the standard 9x9 puzzles, 2 gives 4x4 and 4 gives 16x16 puzzles.
+ * The 25x25 puzzles cannot be generated, nor the 4x4 ones harder than easy or the 16x16 ones easier than expert
+ * (see {@link PuzzleGenerator}).
+ */
+public final class BatchGenerator {
+    /**
+     * the number of puzzles in a chunk, small since a puzzle takes much longer to generate than to solve
+     */
+    private static final int CHUNK_SIZE = 64;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * the generators of each worker thread by block size, reused for every puzzle it generates
+     */
+    private static final ThreadLocal<PuzzleGenerator[]> GENERATORS =
+            ThreadLocal.withInitial(() -> new PuzzleGenerator[PuzzleGenerator.MAX_BLOCK_SIZE + 1]);
+
+    private BatchGenerator() {}
+
+    public static void main(String[] args) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = new SplittableRandom().nextLong();
+        Difficulty difficulty = null;
+        int blockSize = Grid.BLOCK_SIZE;
+        int first = 0;
+        while (first + 1 < args.length && args[first].startsWith("--")) {
+            switch (args[first]) {
+                case "--threads" -> threads = Integer.parseInt(args[first + 1]);
+                case "--seed" -> seed = Long.parseLong(args[first + 1]);
+                case "--difficulty" -> difficulty = Difficulty.valueOf(args[first + 1].toUpperCase(Locale.ROOT));
+                case "--block-size" -> blockSize = Integer.parseInt(args[first + 1]);
+                default -> usage();
+            }
+            first += 2;
+        }
+        if (args.length - first < 1 || args.length - first > 2
+                || blockSize < Grid.MIN_BLOCK_SIZE || blockSize > PuzzleGenerator.MAX_BLOCK_SIZE) {
+            usage();
+        }
+        if (difficulty != null && !PuzzleGenerator.canGenerate(blockSize, difficulty)) {
+            System.err.println("the puzzles of block size " + blockSize + " are never "
+                    + difficulty.name().toLowerCase(Locale.ROOT));
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        long[] counts;
+        try {
+            counts = generate(Long.parseLong(args[first]),
+                    BatchSolver.openOutput(args.length - first > 1 ? args[first + 1] : "-"),
+                    threads, seed, difficulty, blockSize);
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        StringBuilder summary = new StringBuilder("seed: ").append(seed);
+        for (Difficulty rating : Difficulty.values()) {
+            summary.append(", ").append(rating.name().toLowerCase(Locale.ROOT)).append(": ").append(counts[rating.ordinal()]);
+        }
+        System.err.println(summary + " in " + millis + " ms");
+    }
+
+    private static void usage() {
+        System.err.println("Usage: BatchGenerator [--threads n] [--seed s] [--difficulty easy|medium|hard|expert] "
+                + "[--block-size 2|3|4] count [output]");
+        System.exit(2);
+    }
+
+    /**
+     * generates puzzles and writes them to the output, the channel is closed at the end
+     * @param count the number of puzzles to generate
+     * @param output receives one line per puzzle
+     * @param threads the number of worker threads, 1 generates everything in the calling thread
+     * @param seed the seed of the random generators
+     * @param difficulty the difficulty of every puzzle, or null for any difficulty
+     * @param blockSize the block size of the puzzles, at most {@link PuzzleGenerator#MAX_BLOCK_SIZE}
+     * @return the number of puzzles of each difficulty, indexed by ordinal
+     * @throws IOException if the output cannot be written
+     * @throws IllegalArgumentException if the puzzles of that size never have that difficulty
+     * @throws IllegalStateException if no puzzle of that difficulty came in {@link PuzzleGenerator#MAX_ATTEMPTS}
+     */
+    public static long[] generate(long count, WritableByteChannel output, int threads, long seed,
+                                  Difficulty difficulty, int blockSize) throws IOException {
+        long[] counts = new long[Difficulty.values().length];
+        SplittableRandom seeds = new SplittableRandom(seed);
+        ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        try (SolutionWriter writer = new SolutionWriter(output)) {
+            if (difficulty != null && !PuzzleGenerator.canGenerate(blockSize, difficulty)) {
+                throw new IllegalArgumentException("the puzzles of block size " + blockSize + " are never "
+                        + difficulty);
+            }
+            Deque<ForkJoinTask<GeneratedChunk>> inFlight = new ArrayDeque<>();
+            for (long done = 0; done < count; done += CHUNK_SIZE) {
+                GeneratedChunk chunk = new GeneratedChunk((int) Math.min(CHUNK_SIZE, count - done), seeds.split(),
+                        difficulty, blockSize);
+                if (pool == null) {
+                    write(chunk.generate(), writer, counts);
+                    continue;
+                }
+                inFlight.add(pool.submit(chunk::generate));
+                if (inFlight.size() >= threads * CHUNKS_PER_THREAD) {
+                    write(inFlight.poll().join(), writer, counts);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.poll().join(), writer, counts);
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+        return counts;
+    }
+
+    private static void write(GeneratedChunk chunk, SolutionWriter writer, long[] counts) throws IOException {
+        writer.write(chunk.output, chunk.output.length);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += chunk.counts[i];
+        }
+    }
+
+    /**
+     * A block of consecutive puzzles, generated together by one worker from its own random generator
+     */
+    private static final class GeneratedChunk {
+        private final int size;
+        private final SplittableRandom random;
+        private final Difficulty difficulty;
+        private final int blockSize;
+        private final int cellCount;
+        private final byte[] output;
+        private final long[] counts = new long[Difficulty.values().length];
+
+        GeneratedChunk(int size, SplittableRandom random, Difficulty difficulty, int blockSize) {
+            this.size = size;
+            this.random = random;
+            this.difficulty = difficulty;
+            this.blockSize = blockSize;
+            cellCount = blockSize * blockSize * blockSize * blockSize;
+            output = new byte[size * (cellCount + 1)];
+        }
+
+        GeneratedChunk generate() {
+            PuzzleGenerator[] generators = GENERATORS.get();
+            if (generators[blockSize] == null) {
+                generators[blockSize] = new PuzzleGenerator(blockSize);
+            }
+            PuzzleGenerator generator = generators[blockSize];
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                int[] puzzle = difficulty == null ? generator.generate(random) : generator.generate(random, difficulty);
+                counts[generator.getDifficulty().ordinal()]++;
+                int offset = i * (cellCount + 1);
+                PuzzleFormat.write(puzzle, output, offset);
+                output[offset + cellCount] = '\n';
+            }
+            return this;
+        }
+    }
+}
\ No newline at end of file
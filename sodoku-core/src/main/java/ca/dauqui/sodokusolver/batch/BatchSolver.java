@@ -0,0 +1,310 @@
+package ca.dauqui.sodokusolver.batch;
+
+import ca.dauqui.sodokusolver.cache.CanonicalForm;
+import ca.dauqui.sodokusolver.cache.SolutionCache;
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.GridPool;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+import ca.dauqui.sodokusolver.game.solvers.Difficulty;
+import ca.dauqui.sodokusolver.game.solvers.SearchEngine;
+import ca.dauqui.sodokusolver.game.solvers.SolveOutcome;
+import ca.dauqui.sodokusolver.game.solvers.Solvers;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Command line solver for files of puzzles
+ * Reads one puzzle per line in the one line format of {@link PuzzleFormat}, for any size of grid,
+ * and writes one line per puzzle:
+ * the solution, or a marker if the puzzle could not be solved or is invalid (see {@link SolveStatus})
+ * <p>
+ * The puzzles are read in chunks that are solved in parallel by a work stealing pool,
+ * each worker thread using its own grid. The chunks are written back in the order they were read.
+ * <p>
+ * Usage: BatchSolver [--threads n] [--engine backtracking|dancing_links] [--cache size] [--timeout ms]
+ * [--max-nodes n] [--stats] input [output]
+ * "-" or a missing output means the standard input or output, the default number of threads is the number of cores
+ * and the default engine is backtracking. --cache keeps that many solutions, so the puzzles repeated in the input,
+ * or symmetric to another one, are not solved again (see {@link SolutionCache}). The puzzles the singles solve
+ * do not go through the cache.
+ * --timeout and --max-nodes limit the time and the search nodes of each puzzle (see {@link SolveLimit}),
+ * a puzzle that reaches its limit is written as unsolved.
+ * --stats prints the time and eliminations of each solver at the end
+ */
+public final class BatchSolver {
+    /**
+     * the number of chunks that can wait to be written for each worker thread
+     * this bounds the memory used no matter how large the input is
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * the grids of the worker threads, each thread reuses its grid of each block size for every puzzle it solves
+     */
+    private static final GridPool POOL = new GridPool(1);
+
+    private BatchSolver() {}
+
+    public static void main(String[] args) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        SearchEngine engine = SearchEngine.BACKTRACKING;
+        SolutionCache cache = null;
+        Duration timeout = null;
+        long maxNodes = Long.MAX_VALUE;
+        boolean stats = false;
+        int first = 0;
+        while (first + 1 < args.length && args[first].startsWith("--")) {
+            switch (args[first]) {
+                case "--threads" -> threads = Integer.parseInt(args[++first]);
+                case "--engine" -> engine = SearchEngine.valueOf(args[++first].toUpperCase(Locale.ROOT));
+                case "--cache" -> cache = new SolutionCache(Integer.parseInt(args[++first]));
+                case "--timeout" -> timeout = Duration.ofMillis(Long.parseLong(args[++first]));
+                case "--max-nodes" -> maxNodes = Long.parseLong(args[++first]);
+                case "--stats" -> stats = true;
+                default -> usage();
+            }
+            first++;
+        }
+        if (args.length - first < 1 || args.length - first > 2) {
+            usage();
+        }
+        Supplier<SolveLimit> limits = null;
+        if (timeout != null || maxNodes != Long.MAX_VALUE) {
+            Duration puzzleTimeout = timeout;
+            long puzzleMaxNodes = maxNodes;
+            limits = () -> new SolveLimit(puzzleTimeout, puzzleMaxNodes, null);
+        }
+        long start = System.nanoTime();
+        BatchResult result = solve(openInput(args[first]),
+                openOutput(args.length - first > 1 ? args[first + 1] : "-"),
+                threads, engine, cache, limits);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.err.println(result + " in " + millis + " ms");
+        if (cache != null) {
+            System.err.println("cache " + cache);
+        }
+        if (stats) {
+            printStatistics();
+            System.err.println("grid pool " + POOL);
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: BatchSolver [--threads n] [--engine backtracking|dancing_links] [--cache size] "
+                + "[--timeout ms] [--max-nodes n] [--stats] input [output]");
+        System.exit(2);
+    }
+
+    /**
+     * prints how much each solver ran and how much it removed, to see which ones pay for themselves
+     */
+    private static void printStatistics() {
+        System.err.printf("%-26s %12s %14s %10s %16s%n", "solver", "invocations", "eliminations", "ms", "eliminations/ms");
+        for (Solvers solver : Solvers.values()) {
+            System.err.printf(Locale.ROOT, "%-26s %12d %14d %10d %16.1f%n", solver, solver.getInvocations(),
+                    solver.getEliminations(), solver.getNanos() / 1_000_000, solver.getYield() * 1_000_000);
+        }
+        System.err.println("learned order: " + Solvers.getGridSolverOrder());
+    }
+
+    /**
+     * solves every puzzle of the input and writes the results to the output, in the same order
+     * both channels are closed at the end
+     * @param input the puzzles, one per line
+     * @param output receives one line per puzzle
+     * @param threads the number of worker threads, 1 solves everything in the calling thread
+     * @param engine the search used when the solvers cannot progress anymore
+     * @param cache the solutions of the puzzles already seen, shared by the threads, or null to solve every puzzle
+     * @param limits creates the limit of each puzzle when it starts, or null to solve every puzzle to the end
+     * @return the number of puzzles of each status
+     * @throws IOException if the input cannot be read or the output cannot be written
+     */
+    public static BatchResult solve(ReadableByteChannel input, WritableByteChannel output, int threads,
+                                    SearchEngine engine, SolutionCache cache, Supplier<SolveLimit> limits)
+            throws IOException {
+        BatchResult result = new BatchResult(0, 0, 0);
+        try (PuzzleReader reader = new PuzzleReader(input);
+             SolutionWriter writer = new SolutionWriter(output)) {
+            if (threads <= 1) {
+                Chunk chunk = new Chunk();
+                boolean endOfInput = false;
+                while (!endOfInput) {
+                    chunk.clear();
+                    endOfInput = chunk.fill(reader);
+                    result = write(chunk.solve(POOL, engine, cache, limits), writer, result);
+                }
+            } else {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    result = solveInParallel(reader, writer, pool, threads * CHUNKS_PER_THREAD, engine, cache,
+                            limits);
+                } finally {
+                    pool.shutdownNow();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * reads the chunks and submits them to the pool, writing the oldest one each time too many are waiting
+     */
+    private static BatchResult solveInParallel(PuzzleReader reader, SolutionWriter writer, ForkJoinPool pool,
+                                               int maxInFlight, SearchEngine engine, SolutionCache cache,
+                                               Supplier<SolveLimit> limits) throws IOException {
+        BatchResult result = new BatchResult(0, 0, 0);
+        Deque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+        Deque<Chunk> free = new ArrayDeque<>();
+
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            Chunk chunk = free.isEmpty() ? new Chunk() : free.pop();
+            chunk.clear();
+            endOfInput = chunk.fill(reader);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            inFlight.add(pool.submit(() -> chunk.solve(POOL, engine, cache, limits)));
+
+            if (inFlight.size() >= maxInFlight) {
+                Chunk done = inFlight.poll().join();
+                result = write(done, writer, result);
+                free.push(done);
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            result = write(inFlight.poll().join(), writer, result);
+        }
+        return result;
+    }
+
+    private static BatchResult write(Chunk chunk, SolutionWriter writer, BatchResult result) throws IOException {
+        writer.write(chunk.getOutput(), chunk.getOutputLength());
+        return new BatchResult(result.solved() + chunk.getSolved(),
+                result.unsolved() + chunk.getUnsolved(),
+                result.invalid() + chunk.getInvalid());
+    }
+
+    /**
+     * loads a puzzle in the grid and solves it
+     * @param grid the grid to use, its previous content is lost
+     * @param line the array containing the puzzle line
+     * @param offset the position of the line in the array
+     * @param length the length of the line
+     * @param engine the search used when the solvers cannot progress anymore
+     * @param cache the solutions of the puzzles already seen, or null
+     * @param limits creates the limit of the puzzle, or null
+     * @return the status of the puzzle, the grid contains the solution if it is solved
+     */
+    public static SolveStatus solve(Grid grid, byte[] line, int offset, int length, SearchEngine engine,
+                                    SolutionCache cache, Supplier<SolveLimit> limits) {
+        if (!PuzzleFormat.load(grid, line, offset, length)) {
+            return SolveStatus.INVALID;
+        }
+        SolveLimit limit = limits == null ? null : limits.get();
+        // the canonical forms are only defined for the standard grid
+        if (cache == null || grid.getSize() != Grid.SIZE) {
+            return solve(grid, engine, limit);
+        }
+
+        // the easy puzzles are solved by the singles in less time than their canonical form takes,
+        // the others look into the cache before the costlier solvers and the search
+        SolveLimit previous = grid.getLimit();
+        grid.setLimit(limit);
+        try {
+            Difficulty.EASY.propagate(grid);
+        } finally {
+            grid.setLimit(previous);
+        }
+        if (grid.isResolved() || grid.hasContradiction()) {
+            return getStatus(grid);
+        }
+        if (limit != null && limit.isReached()) {
+            return SolveStatus.UNSOLVED;
+        }
+
+        int[] givens = CanonicalForm.givensOf(grid);
+        int[] solution = cache.get(givens);
+        if (solution != null) {
+            for (int index = 0; index < grid.getCellCount(); index++) {
+                if (!grid.getCell(index).isChosen()) {
+                    grid.getCell(index).setCellValue(solution[index], false);
+                }
+            }
+            return getStatus(grid);
+        }
+        SolveStatus status = solve(grid, engine, limit);
+        if (status == SolveStatus.SOLVED) {
+            int[] values = new int[Grid.CELL_COUNT];
+            for (int index = 0; index < Grid.CELL_COUNT; index++) {
+                values[index] = grid.getCell(index).getValue();
+            }
+            cache.put(givens, values);
+        }
+        return status;
+    }
+
+    /**
+     * solves a loaded puzzle within its limit, if any
+     */
+    private static SolveStatus solve(Grid grid, SearchEngine engine, SolveLimit limit) {
+        if (limit == null) {
+            Solvers.solveAll(grid, engine);
+            return getStatus(grid);
+        }
+        SolveOutcome outcome = Solvers.solveWithin(grid, engine, limit);
+        return outcome == SolveOutcome.STOPPED ? SolveStatus.UNSOLVED : getStatus(grid);
+    }
+
+    /**
+     * @param grid a grid the solvers and the search are done with
+     * @return whether the grid holds a valid solution
+     */
+    private static SolveStatus getStatus(Grid grid) {
+        // the search tries every possibility, so a grid left unresolved has no solution
+        if (grid.hasContradiction() || !grid.isResolved()) {
+            return SolveStatus.INVALID;
+        }
+        return grid.isConsistent() ? SolveStatus.SOLVED : SolveStatus.INVALID;
+    }
+
+    private static ReadableByteChannel openInput(String name) throws IOException {
+        if (name.equals("-")) {
+            return Channels.newChannel(System.in);
+        }
+        return FileChannel.open(Path.of(name), StandardOpenOption.READ);
+    }
+
+    static WritableByteChannel openOutput(String name) throws IOException {
+        if (name.equals("-")) {
+            return new FileOutputStream(FileDescriptor.out).getChannel();
+        }
+        return FileChannel.open(Path.of(name), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * the number of puzzles of each status in a batch
+     */
+    public record BatchResult(long solved, long unsolved, long invalid) {
+        @Override
+        public String toString() {
+            return "solved: " + solved + ", unsolved: " + unsolved + ", invalid: " + invalid;
+        }
+    }
+}
\ No newline at end of file
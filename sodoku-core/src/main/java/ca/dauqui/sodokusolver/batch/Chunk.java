@@ -0,0 +1,159 @@
+package ca.dauqui.sodokusolver.batch;
+
+import ca.dauqui.sodokusolver.cache.SolutionCache;
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.GridPool;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+import ca.dauqui.sodokusolver.game.solvers.SearchEngine;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A block of consecutive puzzle lines of the input, solved together by one worker
+ * The chunks are reused once written, so the batch allocates nothing once all chunks are created
+ * The lines are packed one after the other, so a chunk holds fewer puzzles of the larger grids
+ */
+final class Chunk {
+    /**
+     * the number of puzzles in a full chunk
+     */
+    static final int CAPACITY = 1024;
+
+    /**
+     * the bytes kept from each line, the cells of the largest grid, anything longer is an invalid puzzle anyway
+     */
+    private static final int LINE_CAPACITY = Grid.MAX_BLOCK_SIZE * Grid.MAX_BLOCK_SIZE
+            * Grid.MAX_BLOCK_SIZE * Grid.MAX_BLOCK_SIZE + 1;
+
+    /**
+     * the puzzle lines, one after the other, with room for a full chunk of standard puzzles
+     */
+    private final byte[] lines = new byte[CAPACITY * Grid.CELL_COUNT + LINE_CAPACITY];
+    private int linesLength;
+    /**
+     * the position and the real length of each line
+     */
+    private final int[] offsets = new int[CAPACITY];
+    private final int[] lengths = new int[CAPACITY];
+    private int size;
+
+    /**
+     * the result lines, one per puzzle, grown when the puzzles of larger grids do not fit
+     */
+    private byte[] output = new byte[CAPACITY * (Grid.CELL_COUNT + 1)];
+    private int outputLength;
+
+    private long solved;
+    private long unsolved;
+    private long invalid;
+
+    /**
+     * empties the chunk so it can be filled again
+     */
+    void clear() {
+        size = 0;
+        linesLength = 0;
+        outputLength = 0;
+        solved = 0;
+        unsolved = 0;
+        invalid = 0;
+    }
+
+    /**
+     * reads lines from the reader until the chunk is full or the input is exhausted
+     * the chunk is full when it has {@link #CAPACITY} lines or no room left for the longest line
+     * empty lines are skipped
+     * @param reader the input of the batch
+     * @return whether the end of the input was reached
+     * @throws IOException if the input cannot be read
+     */
+    boolean fill(PuzzleReader reader) throws IOException {
+        while (size < CAPACITY && linesLength + LINE_CAPACITY <= lines.length) {
+            int length = reader.readLine(lines, linesLength, LINE_CAPACITY);
+            if (length < 0) {
+                return true;
+            }
+            if (length > 0) {
+                offsets[size] = linesLength;
+                lengths[size++] = length;
+                linesLength += Math.min(length, LINE_CAPACITY);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * solves every puzzle of the chunk and writes the results in the output of the chunk
+     * @param pool the pool the grids to solve with are taken from, one at a time
+     * @param engine the search used when the solvers cannot progress anymore
+     * @param cache the solutions of the puzzles already seen, or null
+     * @param limits creates the limit of each puzzle, or null
+     * @return this chunk
+     */
+    Chunk solve(GridPool pool, SearchEngine engine, SolutionCache cache, Supplier<SolveLimit> limits) {
+        for (int i = 0; i < size; i++) {
+            int blockSize = PuzzleFormat.blockSizeOf(lengths[i]);
+            Grid grid = blockSize == 0 ? null : pool.acquire(blockSize);
+            SolveStatus status = grid == null ? SolveStatus.INVALID
+                    : BatchSolver.solve(grid, lines, offsets[i], lengths[i], engine, cache, limits);
+            ensureOutput((status == SolveStatus.SOLVED ? grid.getCellCount() : status.getMarker().length) + 1);
+            switch (status) {
+                case SOLVED -> {
+                    solved++;
+                    PuzzleFormat.write(grid, output, outputLength);
+                    outputLength += grid.getCellCount();
+                }
+                case UNSOLVED -> unsolved++;
+                case INVALID -> invalid++;
+            }
+            if (status != SolveStatus.SOLVED) {
+                byte[] marker = status.getMarker();
+                System.arraycopy(marker, 0, output, outputLength, marker.length);
+                outputLength += marker.length;
+            }
+            output[outputLength++] = '\n';
+            if (grid != null) {
+                pool.release(grid);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * grows the output so it has room for more bytes
+     */
+    private void ensureOutput(int needed) {
+        if (outputLength + needed > output.length) {
+            output = Arrays.copyOf(output, Math.max(output.length * 2, outputLength + needed));
+        }
+    }
+
+    /**
+     * @return whether the chunk contains no puzzle
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    byte[] getOutput() {
+        return output;
+    }
+
+    int getOutputLength() {
+        return outputLength;
+    }
+
+    long getSolved() {
+        return solved;
+    }
+
+    long getUnsolved() {
+        return unsolved;
+    }
+
+    long getInvalid() {
+        return invalid;
+    }
+}
\ No newline at end of file
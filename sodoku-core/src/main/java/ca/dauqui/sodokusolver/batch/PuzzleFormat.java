@@ -0,0 +1,114 @@
+package ca.dauqui.sodokusolver.batch;
+
+import ca.dauqui.sodokusolver.game.Grid;
+
+/**
+ * A simple class to convert the standard one line puzzle format to and from a grid
+ * The line contains the cells line by line, from left to right and up to down: 81 cells for a standard grid,
+ * 16, 256 or 625 for the other sizes, so the length of the line gives the size of the grid
+ * A given is written as its digit, the values from 10 as the letters from 'A', and an empty cell as '0' or '.'
+ */
+public final class PuzzleFormat {
+    /**
+     * the givens of the line being loaded, by block size, reused by each load of the thread
+     */
+    private static final ThreadLocal<int[][]> GIVENS =
+            ThreadLocal.withInitial(() -> new int[Grid.MAX_BLOCK_SIZE + 1][]);
+
+    private PuzzleFormat() {}
+
+    /**
+     * @param length the length of a puzzle line
+     * @return the block size of the grid of the puzzle, or 0 if no grid has that many cells
+     */
+    public static int blockSizeOf(int length) {
+        for (int blockSize = Grid.MIN_BLOCK_SIZE; blockSize <= Grid.MAX_BLOCK_SIZE; blockSize++) {
+            if (blockSize * blockSize * blockSize * blockSize == length) {
+                return blockSize;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * resets the grid and sets the givens of the puzzle, see {@link Grid#loadGivens(int[])}
+     * a line with a character that is not a value of the grid is rejected before the grid is touched
+     * @param grid the grid to load the puzzle in, of the size of the puzzle
+     * @param line the array containing the puzzle line
+     * @param offset the position of the line in the array
+     * @param length the length of the line
+     * @return false if the line is not a valid puzzle
+     */
+    public static boolean load(Grid grid, byte[] line, int offset, int length) {
+        if (length != grid.getCellCount()) {
+            return false;
+        }
+        int[][] buffers = GIVENS.get();
+        int[] givens = buffers[grid.getBlockSize()];
+        if (givens == null) {
+            givens = new int[length];
+            buffers[grid.getBlockSize()] = givens;
+        }
+        for (int index = 0; index < length; index++) {
+            int value = valueOf(line[offset + index]);
+            if (value < 0 || value > grid.getSize()) {
+                return false;
+            }
+            givens[index] = value;
+        }
+        // the givens can contradict each other or leave a cell without any possible value
+        return grid.loadGivens(givens);
+    }
+
+    /**
+     * writes the chosen values of the grid, unchosen cells are written as '.'
+     * @param grid the grid to write
+     * @param line the array receiving the line
+     * @param offset the position in the array where the bytes of the line are written, one per cell
+     */
+    public static void write(Grid grid, byte[] line, int offset) {
+        for (int index = 0; index < grid.getCellCount(); index++) {
+            line[offset + index] = symbolOf(grid.getCell(index).getValue());
+        }
+    }
+
+    /**
+     * writes the values of a puzzle, empty cells are written as '.'
+     * @param values the values of the cells, 0 for an empty cell
+     * @param line the array receiving the line
+     * @param offset the position in the array where the bytes of the line are written, one per cell
+     */
+    static void write(int[] values, byte[] line, int offset) {
+        for (int index = 0; index < values.length; index++) {
+            line[offset + index] = symbolOf(values[index]);
+        }
+    }
+
+    /**
+     * @param b a character of a puzzle line
+     * @return the value written, 0 for an empty cell or -1 if the character is not a value
+     */
+    private static int valueOf(byte b) {
+        if (b >= '1' && b <= '9') {
+            return b - '0';
+        }
+        if (b >= 'A' && b <= 'Z') {
+            return b - 'A' + 10;
+        }
+        if (b >= 'a' && b <= 'z') {
+            return b - 'a' + 10;
+        }
+        return b == '0' || b == '.' ? 0 : -1;
+    }
+
+    /**
+     * @param value a value, 0 for an empty cell
+     * @return the character written for the value
+     */
+    private static byte symbolOf(int value) {
+        if (value == 0) {
+            return '.';
+        }
+        return value < 10 ? (byte) ('0' + value) : (byte) ('A' + value - 10);
+    }
+}
\ No newline at end of file
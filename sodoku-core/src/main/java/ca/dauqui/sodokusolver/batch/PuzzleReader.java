@@ -0,0 +1,87 @@
+package ca.dauqui.sodokusolver.batch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Reads the input of the batch solver line by line
+ * Only a fixed size buffer is kept in memory, so inputs of any size can be streamed
+ */
+final class PuzzleReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private boolean endOfInput = false;
+
+    PuzzleReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        // nothing was read yet
+        buffer.flip();
+    }
+
+    /**
+     * reads the next line, without its line terminator
+     * if the line is longer than the capacity, only the start of the line is copied but the whole line is consumed
+     * @param line the array receiving the line
+     * @param offset the position in the array where the line starts
+     * @param capacity the maximum number of bytes to copy in the array
+     * @return the length of the whole line, or -1 if the end of the input is reached
+     * @throws IOException if the input cannot be read
+     */
+    int readLine(byte[] line, int offset, int capacity) throws IOException {
+        int length = 0;
+        byte last = 0;
+        boolean readSomething = false;
+        while (true) {
+            if (!buffer.hasRemaining() && !fill()) {
+                return readSomething ? trimCarriageReturn(length, last) : -1;
+            }
+            readSomething = true;
+            byte b = buffer.get();
+            if (b == '\n') {
+                return trimCarriageReturn(length, last);
+            }
+            if (length < capacity) {
+                line[offset + length] = b;
+            }
+            last = b;
+            length++;
+        }
+    }
+
+    /**
+     * removes the '\r' of a windows line terminator
+     */
+    private static int trimCarriageReturn(int length, byte last) {
+        return last == '\r' ? length - 1 : length;
+    }
+
+    /**
+     * refills the buffer from the channel
+     * @return whether there is something to read in the buffer
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
\ No newline at end of file
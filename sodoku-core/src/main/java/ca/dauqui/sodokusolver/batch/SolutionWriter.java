@@ -0,0 +1,62 @@
+package ca.dauqui.sodokusolver.batch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the output of the batch solver
+ * The lines are gathered in a fixed size buffer that is written to the channel only when full
+ */
+final class SolutionWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    SolutionWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * writes bytes that already contain their line terminators
+     * @param bytes the array containing the lines
+     * @param length the number of bytes to write
+     * @throws IOException if the output cannot be written
+     */
+    void write(byte[] bytes, int length) throws IOException {
+        if (buffer.remaining() < length) {
+            flush();
+        }
+        if (buffer.remaining() < length) {
+            ByteBuffer remaining = ByteBuffer.wrap(bytes, 0, length);
+            while (remaining.hasRemaining()) {
+                channel.write(remaining);
+            }
+        } else {
+            buffer.put(bytes, 0, length);
+        }
+    }
+
+    /**
+     * writes everything that is in the buffer to the channel
+     * @throws IOException if the output cannot be written
+     */
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
\ No newline at end of file
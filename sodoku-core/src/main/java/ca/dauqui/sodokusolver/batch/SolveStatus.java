@@ -0,0 +1,28 @@
+package ca.dauqui.sodokusolver.batch;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The outcome of solving one puzzle of a batch
+ * Each status other than SOLVED has the marker written in place of the solution
+ * UNSOLVED is a puzzle that reached its limit before being solved, see {@link BatchSolver}
+ */
+public enum SolveStatus {
+    SOLVED(""),
+    UNSOLVED("unsolved"),
+    INVALID("invalid"),
+    ;
+
+    private final byte[] marker;
+
+    SolveStatus(String marker) {
+        this.marker = marker.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @return the line written to the output for this status
+     */
+    byte[] getMarker() {
+        return marker;
+    }
+}
\ No newline at end of file
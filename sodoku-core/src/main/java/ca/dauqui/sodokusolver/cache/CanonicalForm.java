@@ -0,0 +1,485 @@
+package ca.dauqui.sodokusolver.cache;
+
+import ca.dauqui.sodokusolver.game.Cell;
+import ca.dauqui.sodokusolver.game.Grid;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The canonical form of a puzzle: the same for every puzzle that is only a symmetry of another one
+ * <p>
+ * The symmetries are the transposition, the permutations of the bands and of the stacks, the permutations of the
+ * lines within a band and of the columns within a stack, and the relabeling of the digits. Rotations and reflections
+ * are combinations of those. The canonical form is the smallest of the transformed puzzles, read line by line with
+ * 0 for an empty cell, once the digits are relabeled in the order they first appear.
+ * <p>
+ * The form is built one line at a time, keeping only the transforms that give the smallest lines so far,
+ * so most of the 2 * 6^8 transforms are never looked at.
+ * The transform that was found is kept, to map a solution to and from the canonical form.
+ * <p>
+ * A sparse puzzle fits so many transforms that finding its form would cost far more than solving it
+ * (seconds for an empty grid), so the puzzles with fewer than {@link #MIN_GIVENS} givens have no form,
+ * nor the ones keeping more than {@link #MAX_CANDIDATES} transforms at some line.
+ */
+public final class CanonicalForm {
+    /**
+     * the number of ways to order the columns while keeping the stacks: the stacks times the columns in each stack
+     */
+    private static final int COLUMN_ORDER_COUNT = 6 * 6 * 6 * 6;
+
+    /**
+     * a puzzle with fewer givens has several solutions, there is no point in caching it
+     */
+    public static final int MIN_GIVENS = 17;
+    /**
+     * the transforms kept at most while building a form, the puzzles of the usual collections keep
+     * at most about 5000, this bounds the cost of a form to a few milliseconds
+     */
+    public static final int MAX_CANDIDATES = 8192;
+
+    /**
+     * the 6 orders of 3 bands, stacks, lines or columns
+     */
+    private static final int[][] PERMUTATIONS = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+
+    /**
+     * every column order, the source column of each column of the form
+     */
+    private static final int[][] COLUMN_ORDERS = columnOrders();
+
+    /**
+     * the transforms of the line being built and of the next one, reused by each form built on the thread
+     */
+    private static final ThreadLocal<Candidates[]> BUFFERS =
+            ThreadLocal.withInitial(() -> new Candidates[]{new Candidates(), new Candidates()});
+
+    private final String key;
+    private final boolean transposed;
+    /**
+     * the source line of each line of the form
+     */
+    private final int[] lines;
+    /**
+     * the source column of each column of the form
+     */
+    private final int[] columns;
+    /**
+     * the digit of the form of each digit of the puzzle, and back
+     */
+    private final int[] toCanonical;
+    private final int[] fromCanonical;
+
+    private CanonicalForm(String key, Candidates transforms, int transform) {
+        this.key = key;
+        this.transposed = transforms.transposed[transform];
+        this.lines = new int[Grid.SIZE];
+        for (int position = 0; position < Grid.SIZE; position++) {
+            lines[position] = transforms.lineAt(transform, position);
+        }
+        this.columns = COLUMN_ORDERS[transforms.columnOrders[transform]];
+        this.toCanonical = new int[Grid.SIZE + 1];
+        for (int digit = 1; digit <= Grid.SIZE; digit++) {
+            toCanonical[digit] = Candidates.labelOf(transforms.labels[transform], digit);
+        }
+        // the digits missing from the givens get the remaining labels, so a whole solution can be mapped
+        int label = transforms.nextLabels[transform];
+        for (int digit = 1; digit <= Grid.SIZE; digit++) {
+            if (toCanonical[digit] == 0) {
+                toCanonical[digit] = label++;
+            }
+        }
+        this.fromCanonical = new int[Grid.SIZE + 1];
+        for (int digit = 1; digit <= Grid.SIZE; digit++) {
+            fromCanonical[toCanonical[digit]] = digit;
+        }
+    }
+
+    /**
+     * @param grid a grid whose givens are the cells set manually
+     * @return the canonical form of the givens, or null if the puzzle is too sparse to have one
+     */
+    public static CanonicalForm of(Grid grid) {
+        return of(givensOf(grid));
+    }
+
+    /**
+     * @param grid a standard grid whose givens are the cells set manually
+     * @return the value of each given, 0 for the other cells, the cells numbered line by line
+     */
+    public static int[] givensOf(Grid grid) {
+        int[] givens = new int[Grid.CELL_COUNT];
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            Cell cell = grid.getCell(index);
+            if (cell.isSet()) {
+                givens[index] = cell.getValue();
+            }
+        }
+        return givens;
+    }
+
+    /**
+     * @param givens the value of each cell, 0 for an empty cell, the cells numbered line by line
+     * @return the canonical form of the givens, or null if the puzzle is too sparse to have one
+     */
+    public static CanonicalForm of(int[] givens) {
+        int givenCount = 0;
+        for (int value : givens) {
+            if (value != 0) {
+                givenCount++;
+            }
+        }
+        if (givenCount < MIN_GIVENS) {
+            return null;
+        }
+        // the puzzle read line by line, as is and transposed
+        int[][] sources = new int[2][Grid.CELL_COUNT];
+        for (int line = 0; line < Grid.SIZE; line++) {
+            for (int column = 0; column < Grid.SIZE; column++) {
+                sources[0][line * Grid.SIZE + column] = givens[indexOf(column, line)];
+                sources[1][line * Grid.SIZE + column] = givens[indexOf(line, column)];
+            }
+        }
+        Candidates[] buffers = BUFFERS.get();
+        Candidates candidates = buffers[0];
+        Candidates kept = buffers[1];
+        int[] form = new int[Grid.CELL_COUNT];
+        if (!firstLines(sources, form, candidates)) {
+            return null;
+        }
+
+        int[] line = new int[Grid.SIZE];
+        int[] best = new int[Grid.SIZE];
+        for (int position = 1; position < Grid.SIZE; position++) {
+            kept.clear();
+            boolean found = false;
+            // the number of transforms giving the smallest line does not depend on how the puzzle is transformed,
+            // so neither does running out of room
+            boolean overflow = false;
+            for (int candidate = 0; candidate < candidates.size; candidate++) {
+                int[] cells = sources[candidates.transposed[candidate] ? 1 : 0];
+                int[] columns = COLUMN_ORDERS[candidates.columnOrders[candidate]];
+                int used = candidates.used[candidate];
+                // the next line keeps the band of the previous one, unless it starts a band
+                int first = 0;
+                int last = Grid.SIZE;
+                if (position % Grid.BLOCK_SIZE != 0) {
+                    first = candidates.lineAt(candidate, position - 1) / Grid.BLOCK_SIZE * Grid.BLOCK_SIZE;
+                    last = first + Grid.BLOCK_SIZE;
+                }
+                for (int source = first; source < last; source++) {
+                    if ((used >> source & 1) != 0) {
+                        continue;
+                    }
+                    long labels = candidates.labels[candidate];
+                    int label = candidates.nextLabels[candidate];
+                    // -1 while the line is equal to the best one so far
+                    int comparison = found ? 0 : 1;
+                    for (int column = 0; column < Grid.SIZE && comparison >= 0; column++) {
+                        int value = cells[source * Grid.SIZE + columns[column]];
+                        int digit = 0;
+                        if (value != 0) {
+                            digit = Candidates.labelOf(labels, value);
+                            if (digit == 0) {
+                                digit = label++;
+                                labels |= (long) digit << Candidates.BITS * value;
+                            }
+                        }
+                        line[column] = digit;
+                        if (comparison == 0 && digit != best[column]) {
+                            comparison = digit < best[column] ? 1 : -1;
+                        }
+                    }
+                    if (comparison < 0) {
+                        continue;
+                    }
+                    if (comparison > 0) {
+                        kept.clear();
+                        overflow = false;
+                        found = true;
+                        System.arraycopy(line, 0, best, 0, Grid.SIZE);
+                    }
+                    if (kept.size == MAX_CANDIDATES) {
+                        overflow = true;
+                    } else {
+                        kept.add(candidates.transposed[candidate], candidates.columnOrders[candidate],
+                                candidates.lines[candidate] | (long) source << Candidates.BITS * position,
+                                used | 1 << source, labels, label);
+                    }
+                }
+            }
+            if (overflow) {
+                return null;
+            }
+            System.arraycopy(best, 0, form, position * Grid.SIZE, Grid.SIZE);
+            Candidates swap = candidates;
+            candidates = kept;
+            kept = swap;
+        }
+
+        byte[] key = new byte[Grid.CELL_COUNT];
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            key[index] = (byte) ('0' + form[index]);
+        }
+        return new CanonicalForm(new String(key, StandardCharsets.ISO_8859_1), candidates, 0);
+    }
+
+    /**
+     * finds the transforms giving the smallest first line
+     * The digits of a line are all different and are labeled in the order they appear, so the first line only
+     * depends on which of its cells are empty. Its smallest form puts the stacks with the fewest givens first
+     * and the givens at the end of each stack, so the column orders giving it are built directly.
+     * @param sources the puzzle read line by line, as is and transposed
+     * @param form receives the first line of the form
+     * @param candidates receives the transforms giving that line
+     * @return false if there are more than {@link #MAX_CANDIDATES} of them
+     */
+    private static boolean firstLines(int[][] sources, int[] form, Candidates candidates) {
+        candidates.clear();
+        int[] best = null;
+        boolean overflow = false;
+        for (int transposed = 0; transposed < 2; transposed++) {
+            int[] cells = sources[transposed];
+            for (int source = 0; source < Grid.SIZE; source++) {
+                // the columns of the line holding a given
+                int filled = 0;
+                for (int column = 0; column < Grid.SIZE; column++) {
+                    if (cells[source * Grid.SIZE + column] != 0) {
+                        filled |= 1 << column;
+                    }
+                }
+                int[] counts = new int[Grid.BLOCK_SIZE];
+                for (int stack = 0; stack < Grid.BLOCK_SIZE; stack++) {
+                    counts[stack] = Integer.bitCount(filled >> stack * Grid.BLOCK_SIZE & 0b111);
+                }
+                Arrays.sort(counts);
+                int[] pattern = new int[Grid.SIZE];
+                for (int column = 0; column < Grid.SIZE; column++) {
+                    int position = column % Grid.BLOCK_SIZE;
+                    pattern[column] = position >= Grid.BLOCK_SIZE - counts[column / Grid.BLOCK_SIZE] ? 1 : 0;
+                }
+                int comparison = best == null ? 1 : Arrays.compare(best, pattern);
+                if (comparison < 0) {
+                    continue;
+                }
+                if (comparison > 0) {
+                    candidates.clear();
+                    overflow = false;
+                    best = pattern;
+                }
+                List<Integer> orders = columnOrders(filled, pattern);
+                if (overflow || candidates.size + orders.size() > MAX_CANDIDATES) {
+                    overflow = true;
+                    continue;
+                }
+                for (int order : orders) {
+                    // the digits of the first line are labeled in the order they appear
+                    long labels = 0;
+                    int label = 1;
+                    for (int column : COLUMN_ORDERS[order]) {
+                        int value = cells[source * Grid.SIZE + column];
+                        if (value != 0) {
+                            labels |= (long) label++ << Candidates.BITS * value;
+                        }
+                    }
+                    candidates.add(transposed == 1, order, source, 1 << source, labels, label);
+                }
+            }
+        }
+        if (overflow) {
+            return false;
+        }
+        int label = 1;
+        for (int column = 0; column < Grid.SIZE; column++) {
+            form[column] = best[column] == 0 ? 0 : label++;
+        }
+        return true;
+    }
+
+    /**
+     * @param filled the columns of a line holding a given
+     * @param pattern where the givens must be, a 1 for each given
+     * @return the column orders putting the givens where the pattern wants them
+     */
+    private static List<Integer> columnOrders(int filled, int[] pattern) {
+        List<Integer> orders = new ArrayList<>();
+        for (int stacks = 0; stacks < PERMUTATIONS.length; stacks++) {
+            // the orders within each stack that fit, one bit per permutation
+            int[] fitting = new int[Grid.BLOCK_SIZE];
+            for (int stack = 0; stack < Grid.BLOCK_SIZE; stack++) {
+                int first = PERMUTATIONS[stacks][stack] * Grid.BLOCK_SIZE;
+                for (int within = 0; within < PERMUTATIONS.length; within++) {
+                    boolean fits = true;
+                    for (int i = 0; i < Grid.BLOCK_SIZE; i++) {
+                        int column = first + PERMUTATIONS[within][i];
+                        fits &= (filled >> column & 1) == pattern[stack * Grid.BLOCK_SIZE + i];
+                    }
+                    if (fits) {
+                        fitting[stack] |= 1 << within;
+                    }
+                }
+            }
+            for (int a = fitting[0]; a != 0; a &= a - 1) {
+                for (int b = fitting[1]; b != 0; b &= b - 1) {
+                    for (int c = fitting[2]; c != 0; c &= c - 1) {
+                        int order = stacks;
+                        order = order * 6 + Integer.numberOfTrailingZeros(a);
+                        order = order * 6 + Integer.numberOfTrailingZeros(b);
+                        order = order * 6 + Integer.numberOfTrailingZeros(c);
+                        orders.add(order);
+                    }
+                }
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * @return the canonical givens, one digit per cell line by line with 0 for an empty cell
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * maps a grid of the puzzle to the canonical form
+     * @param values the value of each cell of the puzzle
+     * @return the value of each cell of the canonical form
+     */
+    public int[] toCanonical(int[] values) {
+        int[] canonical = new int[Grid.CELL_COUNT];
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            canonical[index] = toCanonical[values[sourceOf(index)]];
+        }
+        return canonical;
+    }
+
+    /**
+     * maps a grid of the canonical form back to the puzzle, through the inverse of the transform
+     * @param canonical the value of each cell of the canonical form
+     * @return the value of each cell of the puzzle
+     */
+    public int[] fromCanonical(int[] canonical) {
+        int[] values = new int[Grid.CELL_COUNT];
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            values[sourceOf(index)] = fromCanonical[canonical[index]];
+        }
+        return values;
+    }
+
+    /**
+     * @param index a cell of the canonical form
+     * @return the cell of the puzzle it comes from
+     */
+    private int sourceOf(int index) {
+        int line = lines[index / Grid.SIZE];
+        int column = columns[index % Grid.SIZE];
+        return transposed ? indexOf(line, column) : indexOf(column, line);
+    }
+
+    /**
+     * @return the index of a cell of the standard grid, the cells numbered line by line
+     */
+    private static int indexOf(int x, int y) {
+        return y * Grid.SIZE + x;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    /**
+     * builds every order of the columns that keeps the stacks
+     */
+    private static int[][] columnOrders() {
+        int[][] orders = new int[COLUMN_ORDER_COUNT][Grid.SIZE];
+        int order = 0;
+        for (int[] stacks : PERMUTATIONS) {
+            for (int[] first : PERMUTATIONS) {
+                for (int[] second : PERMUTATIONS) {
+                    for (int[] third : PERMUTATIONS) {
+                        int[][] within = {first, second, third};
+                        for (int column = 0; column < Grid.SIZE; column++) {
+                            int stack = column / Grid.BLOCK_SIZE;
+                            orders[order][column] = stacks[stack] * Grid.BLOCK_SIZE + within[stack][column % Grid.BLOCK_SIZE];
+                        }
+                        order++;
+                    }
+                }
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * The transforms that still give the smallest lines so far: the column order is chosen,
+     * the lines only up to the current one
+     * Each transform is packed in the arrays at its position, so building a form allocates nothing
+     * once the buffers of the thread have grown to fit.
+     */
+    private static final class Candidates {
+        /**
+         * the bits taken by a line or a label in a packed long
+         */
+        static final int BITS = 4;
+        private static final int MASK = (1 << BITS) - 1;
+
+        private int size;
+        private boolean[] transposed;
+        private int[] columnOrders;
+        /**
+         * the source line of each line of the form so far, {@link #BITS} bits each
+         */
+        private long[] lines;
+        /**
+         * the source lines used so far, one bit each
+         */
+        private int[] used;
+        /**
+         * the label given to each digit so far, {@link #BITS} bits each, 0 for the digits not seen yet
+         */
+        private long[] labels;
+        private int[] nextLabels;
+
+        Candidates() {
+            resize(256);
+        }
+
+        static int labelOf(long labels, int digit) {
+            return (int) (labels >>> BITS * digit) & MASK;
+        }
+
+        int lineAt(int candidate, int position) {
+            return (int) (lines[candidate] >>> BITS * position) & MASK;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void add(boolean transposed, int columnOrder, long lines, int used, long labels, int nextLabel) {
+            if (size == this.lines.length) {
+                resize(Math.min(size * 2, MAX_CANDIDATES));
+            }
+            this.transposed[size] = transposed;
+            this.columnOrders[size] = columnOrder;
+            this.lines[size] = lines;
+            this.used[size] = used;
+            this.labels[size] = labels;
+            this.nextLabels[size] = nextLabel;
+            size++;
+        }
+
+        private void resize(int capacity) {
+            transposed = transposed == null ? new boolean[capacity] : Arrays.copyOf(transposed, capacity);
+            columnOrders = columnOrders == null ? new int[capacity] : Arrays.copyOf(columnOrders, capacity);
+            lines = lines == null ? new long[capacity] : Arrays.copyOf(lines, capacity);
+            used = used == null ? new int[capacity] : Arrays.copyOf(used, capacity);
+            labels = labels == null ? new long[capacity] : Arrays.copyOf(labels, capacity);
+            nextLabels = nextLabels == null ? new int[capacity] : Arrays.copyOf(nextLabels, capacity);
+        }
+    }
+}
\ No newline at end of file
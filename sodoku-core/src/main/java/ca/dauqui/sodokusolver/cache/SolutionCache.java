@@ -0,0 +1,255 @@
+package ca.dauqui.sodokusolver.cache;
+
+import ca.dauqui.sodokusolver.game.Grid;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of solutions, that also finds the solution of a symmetry of a puzzle already solved
+ * <p>
+ * The solutions are grouped by the shape of their puzzle: the number of givens, the count of each digit and the
+ * counts of the lines and columns of each band and stack, all sorted so no symmetry changes them.
+ * A puzzle whose shape is not in the cache misses at the cost of counting its givens. Only a puzzle with a known
+ * shape builds its {@link CanonicalForm}, and the forms of the puzzles it is compared to, once each. So a batch
+ * without repeated puzzles builds almost no form, and the very same puzzle is found without any.
+ * A puzzle too sparse to have a form is only found by the very same puzzle.
+ * <p>
+ * When the cache is full, the solutions of the least recently used shape are evicted.
+ * <p>
+ * The cache can be shared by several threads, each access takes its lock for the time of a map lookup,
+ * the forms are built outside of it.
+ */
+public final class SolutionCache {
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    /**
+     * the solutions by shape, most shapes have a single solution
+     */
+    private final Map<Long, Entry[]> solutions = new LinkedHashMap<>(16, 0.75f, true);
+    private final int capacity;
+    private int size;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder forms = new LongAdder();
+
+    /**
+     * @param capacity the number of solutions kept at most
+     */
+    public SolutionCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param givens the value of each cell of a standard puzzle, 0 for an empty cell
+     * @return the value of each cell of the solution of the puzzle, or null if it is not in the cache
+     */
+    public int[] get(int[] givens) {
+        Entry[] entries;
+        synchronized (solutions) {
+            entries = solutions.getOrDefault(shapeOf(givens), NO_ENTRIES);
+        }
+        for (Entry entry : entries) {
+            if (entry.isPuzzle(givens)) {
+                hits.increment();
+                return entry.solution();
+            }
+        }
+        CanonicalForm form = entries.length == 0 ? null : buildForm(givens);
+        if (form != null) {
+            for (Entry entry : entries) {
+                CanonicalForm other = entry.form(this);
+                if (other != null && other.getKey().equals(form.getKey())) {
+                    hits.increment();
+                    return form.fromCanonical(other.toCanonical(entry.solution()));
+                }
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * keeps the solution of a puzzle
+     * @param givens the value of each cell of a standard puzzle, 0 for an empty cell
+     * @param values the value of each cell of the solution
+     */
+    public void put(int[] givens, int[] values) {
+        Entry entry = new Entry(givens, values);
+        long shape = shapeOf(givens);
+        synchronized (solutions) {
+            Entry[] entries = solutions.getOrDefault(shape, NO_ENTRIES);
+            for (Entry other : entries) {
+                if (other.isPuzzle(givens)) {
+                    return;
+                }
+            }
+            // a new array, the lookups read the old one without the lock
+            Entry[] added = Arrays.copyOf(entries, entries.length + 1);
+            added[entries.length] = entry;
+            solutions.put(shape, added);
+            size++;
+            Iterator<Entry[]> eldest = solutions.values().iterator();
+            while (size > capacity) {
+                Entry[] evicted = eldest.next();
+                eldest.remove();
+                size -= evicted.length;
+                evictions.add(evicted.length);
+            }
+        }
+    }
+
+    /**
+     * @param givens the value of each cell of a standard puzzle, 0 for an empty cell
+     * @return the same number for every symmetry of the puzzle, most other puzzles get another one
+     */
+    static long shapeOf(int[] givens) {
+        int[] digits = new int[Grid.SIZE + 1];
+        int[] lines = new int[Grid.SIZE];
+        int[] columns = new int[Grid.SIZE];
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            int value = givens[index];
+            if (value != 0) {
+                digits[value]++;
+                lines[index / Grid.SIZE]++;
+                columns[index % Grid.SIZE]++;
+            }
+        }
+        // the relabeling of the digits
+        Arrays.sort(digits);
+        long shape = 0;
+        for (int count : digits) {
+            shape = shape * (Grid.SIZE + 1) + count;
+        }
+        // the transposition
+        long lineShape = bandShapeOf(lines);
+        long columnShape = bandShapeOf(columns);
+        return (shape * 31 + Math.min(lineShape, columnShape)) * 31 + Math.max(lineShape, columnShape);
+    }
+
+    /**
+     * @param counts the number of givens of each line, or of each column
+     * @return the same number whatever the order of the bands and of the lines in each band
+     */
+    private static long bandShapeOf(int[] counts) {
+        long[] bands = new long[Grid.BLOCK_SIZE];
+        for (int band = 0; band < Grid.BLOCK_SIZE; band++) {
+            int[] bandCounts = Arrays.copyOfRange(counts, band * Grid.BLOCK_SIZE, (band + 1) * Grid.BLOCK_SIZE);
+            Arrays.sort(bandCounts);
+            for (int count : bandCounts) {
+                bands[band] = bands[band] * (Grid.SIZE + 1) + count;
+            }
+        }
+        Arrays.sort(bands);
+        long shape = 0;
+        for (long band : bands) {
+            shape = shape * 1000 + band;
+        }
+        return shape;
+    }
+
+    private CanonicalForm buildForm(int[] givens) {
+        forms.increment();
+        return CanonicalForm.of(givens);
+    }
+
+    /**
+     * @return the number of solutions in the cache
+     */
+    public int size() {
+        synchronized (solutions) {
+            return size;
+        }
+    }
+
+    /**
+     * @return the number of lookups that found a solution
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that found nothing
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of solutions evicted to make room for newer ones
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of canonical forms built, the costly part of the lookups
+     */
+    public long getForms() {
+        return forms.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "hits: " + getHits() + ", misses: " + getMisses() + ", evictions: " + getEvictions()
+                + ", forms: " + getForms();
+    }
+
+    /**
+     * a puzzle and its solution, the form of the puzzle is only built when a puzzle of the same shape looks for it
+     */
+    private static final class Entry {
+        private final byte[] givens = new byte[Grid.CELL_COUNT];
+        private final byte[] solution = new byte[Grid.CELL_COUNT];
+        private CanonicalForm form;
+        private boolean formBuilt;
+
+        Entry(int[] givens, int[] values) {
+            for (int index = 0; index < Grid.CELL_COUNT; index++) {
+                this.givens[index] = (byte) givens[index];
+                this.solution[index] = (byte) values[index];
+            }
+        }
+
+        boolean isPuzzle(int[] other) {
+            for (int index = 0; index < Grid.CELL_COUNT; index++) {
+                if (givens[index] != other[index]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int[] solution() {
+            int[] values = new int[Grid.CELL_COUNT];
+            for (int index = 0; index < Grid.CELL_COUNT; index++) {
+                values[index] = solution[index];
+            }
+            return values;
+        }
+
+        /**
+         * @return the form of the puzzle, or null if it is too sparse to have one
+         */
+        synchronized CanonicalForm form(SolutionCache cache) {
+            if (!formBuilt) {
+                int[] values = new int[Grid.CELL_COUNT];
+                for (int index = 0; index < Grid.CELL_COUNT; index++) {
+                    values[index] = givens[index];
+                }
+                form = cache.buildForm(values);
+                formBuilt = true;
+            }
+            return form;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package ca.dauqui.sodokusolver.game;
+
+/**
+ * A flag to stop a solving from another thread, e.g. when the client waiting for the solution went away
+ * The solving sees it through its {@link SolveLimit} and stops at the next check.
+ * A token can be shared by several solvings to stop all of them at once, and a token made from a parent
+ * is also cancelled with its parent, e.g. the token of a request with the one of the whole server.
+ */
+public final class CancellationToken {
+    private final CancellationToken parent;
+    private volatile boolean cancelled = false;
+
+    public CancellationToken() {
+        this(null);
+    }
+
+    /**
+     * @param parent the token whose cancellation also cancels this one, or null
+     */
+    public CancellationToken(CancellationToken parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * asks every solving using this token to stop, the call returns at once
+     * the parent of this token is not cancelled
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return whether {@link #cancel()} was called on this token or on one of its parents
+     */
+    public boolean isCancelled() {
+        return cancelled || parent != null && parent.isCancelled();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package ca.dauqui.sodokusolver.game;
+
+/**
+ * A simple class containing the utilities to work with candidate masks
+ * The possible values of a cell are kept in an int where the bit (value - 1) is set if the value is still possible
+ * ex.: the mask 0b000010011 means the values 1, 2 and 5 are possible
+ * The 25 values of the largest grid still fit in an int
+ */
+public final class Candidates {
+    /**
+     * the mask containing all values from 1 to 9, the values of the standard grid
+     * see {@link Grid#getAllCandidates()} for the values of a grid of another size
+     */
+    public static final int ALL = (1 << Grid.SIZE) - 1;
+
+    private Candidates() {}
+
+    /**
+     * @param value a value from 1 to the size of the grid
+     * @return the mask containing only this value
+     */
+    public static int of(int value) {
+        return 1 << (value - 1);
+    }
+
+    /**
+     * @param values the values to put in the mask
+     * @return the mask containing all the given values
+     */
+    public static int of(int... values) {
+        int mask = 0;
+        for (int value : values) {
+            mask |= of(value);
+        }
+        return mask;
+    }
+
+    /**
+     * @param mask a candidate mask
+     * @param value the value to look for
+     * @return whether the value is in the mask
+     */
+    public static boolean contains(int mask, int value) {
+        return (mask & of(value)) != 0;
+    }
+
+    /**
+     * @param mask a candidate mask
+     * @return the number of values in the mask
+     */
+    public static int count(int mask) {
+        return Integer.bitCount(mask);
+    }
+
+    /**
+     * @param mask a candidate mask
+     * @return the smallest value of the mask, or 0 if the mask is empty
+     */
+    public static int first(int mask) {
+        return mask == 0 ? 0 : Integer.numberOfTrailingZeros(mask) + 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,269 @@
+package ca.dauqui.sodokusolver.game;
+
+/**
+ * This class represents a cell of the sodoku grids
+ * It knows all values that are possible in this position
+ * The possible values themselves are kept as a candidate mask in the grid (see {@link Candidates})
+ */
+public class Cell {
+    /**
+     * the grid holding the candidates of this cell
+     */
+    private final Grid grid;
+    /**
+     * the position of the cell in the candidates array of the grid
+     */
+    private final int index;
+    /**
+     * the x position of the cell in the grid
+     */
+    private final int xPos;
+    /**
+     * the y position of the cell in the grid
+     */
+    private final int yPos;
+
+    /**
+     * the different groups this cell is part of
+     */
+    private Group horizontalGroup;
+    private Group verticalGroup;
+    private Group blockGroup;
+
+    Cell(Grid grid, int xPos, int yPos) {
+        this.grid = grid;
+        this.xPos = xPos;
+        this.yPos = yPos;
+        this.index = yPos * grid.getSize() + xPos;
+    }
+
+    /**
+     * @return the possible values of the cell as a candidate mask
+     */
+    public int getPossibilities() {
+        return grid.getCandidates(index);
+    }
+
+    /**
+     * @return the number of possible values of the cell
+     */
+    public int getPossibilityCount() {
+        return Candidates.count(grid.getCandidates(index));
+    }
+
+    /**
+     * @param value the value to look for
+     * @return whether the value is still possible in this cell
+     */
+    public boolean isPossible(int value) {
+        return Candidates.contains(grid.getCandidates(index), value);
+    }
+
+    /**
+     * @return the chosen value of the cell, or 0 if the value isn't chosen yet
+     */
+    public int getValue() {
+        int mask = grid.getCandidates(index);
+        return Candidates.count(mask) == 1 ? Candidates.first(mask) : 0;
+    }
+
+    /**
+     * Sets the value of the cell
+     * if the value was not possible anymore, the cell is left without any value and the grid has a contradiction
+     * @param value the value to be set
+     * @param manual whether it was set by the user or the program
+     * @return whether the call made a change to the grid
+     */
+    public boolean setCellValue(int value, boolean manual) {
+        // keep only the value to be set
+        int mask = grid.getCandidates(index);
+        int kept = mask & Candidates.of(value);
+        boolean changed = kept != mask;
+        grid.setCandidates(index, kept);
+        if (kept == 0) {
+            // nothing left to propagate, the caller sees the contradiction on the grid
+            return true;
+        }
+        grid.setManuallySet(index, manual);
+        // remove the set value from all other cells of the groups this cell is a member of
+        changed |= removeFromPeers(kept);
+
+        return changed;
+    }
+
+    /**
+     * remove a value from the cell
+     * @param value the value to be removed
+     * @return whether the call made a change to the grid
+     */
+    public boolean removeCellValue(int value) {
+        return restrictTo(~Candidates.of(value));
+    }
+
+    /**
+     * keeps only the values given in the parameters
+     * @param i the list of values to keep
+     * @return whether the call mage a change to the grid
+     */
+    public boolean keepValues(int... i) {
+        return restrictTo(Candidates.of(i));
+    }
+
+    /**
+     * removes all the values of a candidate mask from the cell
+     * @param mask the values to be removed
+     * @return whether the call made a change to the grid
+     */
+    public boolean removePossibilities(int mask) {
+        return restrictTo(~mask);
+    }
+
+    /**
+     * keeps only the values of a candidate mask
+     * @param mask the values to keep
+     * @return whether the call made a change to the grid
+     */
+    public boolean keepPossibilities(int mask) {
+        return restrictTo(mask);
+    }
+
+    /**
+     * removes all values that are not in the given mask
+     * when a single value is left, it is removed from all other cells of the groups this cell is a member of
+     * when no value is left, the grid has a contradiction (see {@link Grid#hasContradiction()})
+     * @param toKeep the mask of the values to keep
+     * @return whether the call made a change to the grid
+     */
+    private boolean restrictTo(int toKeep) {
+        int mask = grid.getCandidates(index);
+        int kept = mask & toKeep;
+        if (kept == mask) {
+            return false;
+        }
+        grid.setCandidates(index, kept);
+        if (Candidates.count(kept) == 1) { // only 1 value left
+            // we remove the last value from all cells from the groups this cell is a member of
+            // we do this since no other cells in those groups can be with this value
+            removeFromPeers(kept);
+        }
+        return true;
+    }
+
+    /**
+     * removes a value from every peer of this cell, walking the peer table of the grid
+     * a peer already chosen with that value is left empty, so the grid sees the contradiction
+     * @param mask the candidate mask of the value to remove
+     * @return whether the call made a change to the grid
+     */
+    private boolean removeFromPeers(int mask) {
+        boolean changed = false;
+        for (int peer : grid.getPeers(index)) {
+            if ((grid.getCandidates(peer) & mask) != 0) {
+                changed |= grid.getCell(peer).restrictTo(~mask);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return the horizontal line this cell is a member of
+     */
+    public Group getHorizontalGroup() {
+        return horizontalGroup;
+    }
+
+    /**
+     * @param horizontalGroup the horizontal line this cell is a member of
+     */
+    public void setHorizontalGroup(Group horizontalGroup) {
+        this.horizontalGroup = horizontalGroup;
+    }
+
+    /**
+     * @return the vertical line this cell is a member of
+     */
+    public Group getVerticalGroup() {
+        return verticalGroup;
+    }
+
+    /**
+     * @param verticalGroup the vertical line this cell is a member of
+     */
+    public void setVerticalGroup(Group verticalGroup) {
+        this.verticalGroup = verticalGroup;
+    }
+
+    /**
+     * @return the block this cell is a member of
+     */
+    public Group getBlockGroup() {
+        return blockGroup;
+    }
+
+    /**
+     * @param blockGroup the block this cell is a member of
+     */
+    public void setBlockGroup(Group blockGroup) {
+        this.blockGroup = blockGroup;
+    }
+
+    /**
+     * @return whether the value of the cell is chosen (i.e. only one value is possible)
+     */
+    public boolean isChosen() {
+        return Candidates.count(grid.getCandidates(index)) == 1;
+    }
+
+    /**
+     * @return whether the value of the cell was set manually
+     */
+    public boolean isSet() {
+        return grid.isManuallySet(index);
+    }
+
+    /**
+     * resets the cell to possess all possible values
+     */
+    public void reset() {
+        grid.setManuallySet(index, false);
+        grid.setCandidates(index, grid.getAllCandidates());
+    }
+
+    /**
+     * @param other another cell
+     * @return whether the other cell shares a line, a column or a block with this cell
+     */
+    public boolean sees(Cell other) {
+        return other != this && (horizontalGroup == other.horizontalGroup || verticalGroup == other.verticalGroup
+                || blockGroup == other.blockGroup);
+    }
+
+    /**
+     * @return a string with the cell (x, y) position
+     */
+    public String getPositionString(){
+        return "(" + xPos + ", " + yPos + ")";
+    }
+
+    /**
+     * @return the x position of the cell in the grid
+     */
+    public int getPosX() {
+        return xPos;
+    }
+
+    /**
+     * @return the y position of the cell in the grid
+     */
+    public int getPosY() {
+        return yPos;
+    }
+
+    /**
+     * @return the position of the cell in the candidates array of the grid
+     */
+    public int getIndex() {
+        return index;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,686 @@
+package ca.dauqui.sodokusolver.game;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the sodoku grid
+ * The possible values of all the cells are kept in a single array of candidate masks (see {@link Candidates})
+ * <p>
+ * The standard grid is 9x9 with 3x3 blocks, but any block size from 2 to 5 can be used,
+ * i.e. grids of 4x4, 9x9, 16x16 and 25x25 cells. The static sizes below are the ones of the standard grid,
+ * the sizes of a given grid are given by its getters.
+ */
+public final class Grid {
+    /**
+     * the number of cells in a line, a column or a block of the standard grid, and the number of possible values
+     */
+    public static final int SIZE = 9;
+    /**
+     * the width and height of a block of the standard grid
+     */
+    public static final int BLOCK_SIZE = 3;
+    /**
+     * the number of cells in the standard grid
+     */
+    public static final int CELL_COUNT = SIZE * SIZE;
+    /**
+     * the number of lines, columns and blocks of the standard grid
+     */
+    public static final int GROUP_COUNT = 3 * SIZE;
+
+    /**
+     * the smallest and largest block sizes, the values of a 25x25 grid still fit in an int mask
+     */
+    public static final int MIN_BLOCK_SIZE = 2;
+    public static final int MAX_BLOCK_SIZE = 5;
+
+    /**
+     * the sizes of this grid, see the static sizes of the standard grid
+     */
+    private final int blockSize;
+    private final int size;
+    private final int cellCount;
+    private final int groupCount;
+    /**
+     * the mask containing every value of this grid
+     */
+    private final int allCandidates;
+    /**
+     * the cells of each group and the peers of each cell, shared by all the grids of this size
+     */
+    private final GridLayout layout;
+
+    /**
+     * the candidate mask of each cell, indexed by the position of the cell line by line
+     */
+    private final int[] candidates;
+    /**
+     * whether the value of each cell was set manually
+     */
+    private final boolean[] manuallySet;
+
+    /**
+     * All the cells of the grid
+     */
+    private final Cell[][] sodokuGrid;
+    /**
+     * All the cells of the grid, indexed like the candidates
+     */
+    private final Cell[] cells;
+
+    /**
+     * Each vertical line of the grid
+     */
+    private final Group[] verticalLines;
+    /**
+     * Each horizontal line of the grid
+     */
+    private final Group[] horizontalLines;
+    /**
+     * each block of the grid
+     */
+    private final Group[] blocks;
+    /**
+     * all the groups: the vertical lines, then the horizontal lines, then the blocks
+     */
+    private final Group[] groups;
+
+    /**
+     * the groups in which a cell changed since they were last taken by {@link #pollDirtyGroup()}, in order of change
+     * it is a circular queue, each group being at most once in it
+     */
+    private final int[] dirtyGroups;
+    private final boolean[] dirty;
+    private int dirtyHead = 0;
+    private int dirtyCount = 0;
+
+    /**
+     * the number of candidates removed from the cells since the grid was created
+     */
+    private long eliminationCount = 0;
+
+    /**
+     * the number of cells with a single possible value, kept up to date by each change
+     */
+    private int solvedCount = 0;
+    /**
+     * the number of cells without any possible value, the grid has no solution as long as it is not 0
+     */
+    private int emptyCount = 0;
+
+    /**
+     * the changes made to the cells, oldest first, so they can be undone back to a {@link #mark()}
+     * an entry keeps the index of the cell and the previous candidate mask,
+     * or the previous manual flag if {@link #MANUAL_ENTRY} is set
+     * the entries from trailSize to redoSize are the changes undone, they can be redone until the next change
+     * trailSize and redoSize are positions in all the changes since the last reset, the array starting at trailStart
+     */
+    private long[] trail;
+    private int trailSize = 0;
+    private int redoSize = 0;
+    /**
+     * the position of the first change kept in the trail
+     * the changes made before the first mark since the last reset are not kept, nothing can go back before that mark
+     */
+    private int trailStart = 0;
+    private boolean marked = false;
+
+    /**
+     * the bits of a trail entry keeping the index of the cell, the rest keeps the previous state
+     * a long holds the index of any of the 625 cells of the largest grid and its 25 bit mask
+     */
+    private static final int INDEX_BITS = 10;
+    private static final long INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final long MANUAL_ENTRY = 1 << INDEX_BITS;
+    private static final int STATE_SHIFT = INDEX_BITS + 1;
+
+    /**
+     * the observer to notify of the changes, null when no user interface is attached
+     */
+    private GridObserver observer;
+
+    /**
+     * the log of the removed candidates, null when the solving is not recorded
+     */
+    private SolveLog log;
+
+    /**
+     * the limits of the current solving, null when it can run until it is done
+     */
+    private SolveLimit limit;
+
+    /**
+     * creates an empty standard grid
+     */
+    public Grid(){
+        this(BLOCK_SIZE);
+    }
+
+    /**
+     * creates an empty grid
+     * @param blockSize the width and height of a block, from {@link #MIN_BLOCK_SIZE} to {@link #MAX_BLOCK_SIZE}
+     */
+    public Grid(int blockSize) {
+        if (blockSize < MIN_BLOCK_SIZE || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("block size must be from " + MIN_BLOCK_SIZE + " to "
+                    + MAX_BLOCK_SIZE + ": " + blockSize);
+        }
+        this.blockSize = blockSize;
+        size = blockSize * blockSize;
+        cellCount = size * size;
+        groupCount = 3 * size;
+        allCandidates = (1 << size) - 1;
+        layout = GridLayout.of(blockSize);
+
+        candidates = new int[cellCount];
+        manuallySet = new boolean[cellCount];
+        sodokuGrid = new Cell[size][size];
+        cells = new Cell[cellCount];
+        verticalLines = new Group[size];
+        horizontalLines = new Group[size];
+        blocks = new Group[size];
+        groups = new Group[groupCount];
+        dirtyGroups = new int[groupCount];
+        dirty = new boolean[groupCount];
+        trail = new long[cellCount * 4];
+        Arrays.fill(candidates, allCandidates);
+
+        // initialize the sodoku grid
+        for (int i = 0; i < sodokuGrid.length; i++) {
+            for (int j = 0; j < sodokuGrid[i].length; j++) {
+                var cell = new Cell(this, i, j);
+                sodokuGrid[i][j] = cell;
+                cells[cell.getIndex()] = cell;
+            }
+        }
+
+        // the groups take their cells from the layout
+        for (int index = 0; index < groupCount; index++) {
+            Group group = new Group(index, size);
+            int[] members = layout.getGroupCells(index);
+            for (int pos = 0; pos < size; pos++) {
+                group.setCell(pos, cells[members[pos]]);
+            }
+            groups[index] = group;
+        }
+        System.arraycopy(groups, 0, verticalLines, 0, size);
+        System.arraycopy(groups, size, horizontalLines, 0, size);
+        System.arraycopy(groups, 2 * size, blocks, 0, size);
+        for (Cell cell : cells) {
+            int[] cellGroups = layout.getCellGroups(cell.getIndex());
+            cell.setVerticalGroup(groups[cellGroups[0]]);
+            cell.setHorizontalGroup(groups[cellGroups[1]]);
+            cell.setBlockGroup(groups[cellGroups[2]]);
+        }
+    }
+
+    /**
+     * resets the grid to empty, the changes made before can no longer be undone
+     * the arrays are refilled in place, nothing is recorded in the trail since it is dropped anyway
+     */
+    public void reset(){
+        for (int index = 0; index < cellCount; index++) {
+            if (candidates[index] != allCandidates) {
+                candidates[index] = allCandidates;
+                for (int group : layout.getCellGroups(index)) {
+                    markDirty(group);
+                }
+                notifyObserver(index);
+            }
+            if (manuallySet[index]) {
+                manuallySet[index] = false;
+                notifyObserver(index);
+            }
+        }
+        solvedCount = 0;
+        emptyCount = 0;
+        trailSize = 0;
+        redoSize = 0;
+        trailStart = 0;
+        marked = false;
+        if (log != null) {
+            log.clear();
+        }
+    }
+
+    /**
+     * resets the grid and sets the givens of a puzzle, see {@link GridPool} to reuse the grids
+     * @param values the value of each cell, indexed like the candidates, 0 for an empty cell
+     * @return false if the givens contradict each other, the grid then has a contradiction or a given missing
+     */
+    public boolean loadGivens(int[] values) {
+        if (values.length != cellCount) {
+            throw new IllegalArgumentException("expected " + cellCount + " values, got " + values.length);
+        }
+        reset();
+        for (int index = 0; index < cellCount; index++) {
+            int value = values[index];
+            if (value == 0) {
+                continue;
+            }
+            if (value < 0 || value > size) {
+                throw new IllegalArgumentException("value out of range at " + index + ": " + value);
+            }
+            // a given that was already removed by another given makes the puzzle invalid
+            if (!Candidates.contains(candidates[index], value)) {
+                return false;
+            }
+            cells[index].setCellValue(value, true);
+        }
+        return !hasContradiction();
+    }
+
+    /**
+     * Calculates the position of a cell of this grid in the candidates array
+     * the cells are numbered line by line, from left to right and up to down
+     * @param x the x position of the cell
+     * @param y the y position of the cell
+     * @return the index of the cell
+     */
+    public int indexOf(int x, int y) {
+        return y * size + x;
+    }
+
+    /**
+     * @return the width and height of a block
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * @return the number of cells in a line, a column or a block, and the number of possible values
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of cells in the grid
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * @return the number of lines, columns and blocks of the grid
+     */
+    public int getGroupCount() {
+        return groupCount;
+    }
+
+    /**
+     * @return the candidate mask containing every value of the grid
+     */
+    public int getAllCandidates() {
+        return allCandidates;
+    }
+
+    /**
+     * return the cell at the requested position
+     * @param i the x position
+     * @param j the y position
+     * @return the cell at the given position
+     */
+    public Cell getCell(int i, int j) {
+        return sodokuGrid[i][j];
+    }
+
+    /**
+     * return the cell at the requested index
+     * @param index the index of the cell, the cells numbered line by line
+     * @return the cell at the given index
+     */
+    public Cell getCell(int index) {
+        return cells[index];
+    }
+
+    /**
+     * @param index the index of the group, the vertical lines come first, then the horizontal lines, then the blocks
+     * @return the group at the given index
+     */
+    public Group getGroup(int index) {
+        return groups[index];
+    }
+
+    /**
+     * @param index the index of the cell
+     * @return the indexes of the other cells sharing a group with the cell, by increasing index,
+     * the array is shared by all the grids of this size and must not be changed
+     */
+    public int[] getPeers(int index) {
+        return layout.getPeers(index);
+    }
+
+    /**
+     * @param index the index of the cell
+     * @return the candidate mask of the cell
+     */
+    public int getCandidates(int index) {
+        return candidates[index];
+    }
+
+    /**
+     * changes the candidate mask of a cell, only the cells should modify their own mask
+     * @param index the index of the cell
+     * @param mask the new candidate mask
+     */
+    void setCandidates(int index, int mask) {
+        if (candidates[index] != mask) {
+            if (log != null && (candidates[index] & ~mask) != 0) {
+                log.record(trailSize, index, candidates[index] & ~mask);
+            }
+            record(index | (long) candidates[index] << STATE_SHIFT);
+            applyCandidates(index, mask);
+        }
+    }
+
+    private void applyCandidates(int index, int mask) {
+        if (candidates[index] != mask) {
+            int old = candidates[index];
+            eliminationCount += Candidates.count(old & ~mask);
+            if (Candidates.count(old) == 1) {
+                solvedCount--;
+            } else if (old == 0) {
+                emptyCount--;
+            }
+            if (Candidates.count(mask) == 1) {
+                solvedCount++;
+            } else if (mask == 0) {
+                emptyCount++;
+            }
+            candidates[index] = mask;
+            for (int group : layout.getCellGroups(index)) {
+                markDirty(group);
+            }
+            notifyObserver(index);
+        }
+    }
+
+    /**
+     * @return the number of candidates removed from the cells since the grid was created, never decreasing
+     */
+    public long getEliminationCount() {
+        return eliminationCount;
+    }
+
+    /**
+     * queues a group so the solvers look at it again
+     * @param group the index of the group
+     */
+    private void markDirty(int group) {
+        if (!dirty[group]) {
+            dirty[group] = true;
+            // the queue wraps around without dividing by the group count, which is no longer a constant
+            int tail = dirtyHead + dirtyCount;
+            dirtyGroups[tail < groupCount ? tail : tail - groupCount] = group;
+            dirtyCount++;
+        }
+    }
+
+    /**
+     * takes the group that changed the earliest out of the queue of changed groups
+     * @return the index of the group, or -1 if no group changed
+     */
+    public int pollDirtyGroup() {
+        if (dirtyCount == 0) {
+            return -1;
+        }
+        int group = dirtyGroups[dirtyHead];
+        if (++dirtyHead == groupCount) {
+            dirtyHead = 0;
+        }
+        dirtyCount--;
+        dirty[group] = false;
+        return group;
+    }
+
+    /**
+     * @return whether a group changed since it was last taken by {@link #pollDirtyGroup()}
+     */
+    public boolean hasDirtyGroups() {
+        return dirtyCount > 0;
+    }
+
+    /**
+     * queues every group, so the solvers look at the whole grid again
+     */
+    public void markAllGroupsDirty() {
+        for (int group = 0; group < groupCount; group++) {
+            markDirty(group);
+        }
+    }
+
+    /**
+     * @param index the index of the cell
+     * @return whether the value of the cell was set manually
+     */
+    boolean isManuallySet(int index) {
+        return manuallySet[index];
+    }
+
+    /**
+     * @param index the index of the cell
+     * @param manual whether the value of the cell was set manually
+     */
+    void setManuallySet(int index, boolean manual) {
+        if (manuallySet[index] != manual) {
+            record(MANUAL_ENTRY | index | (manuallySet[index] ? 1L : 0L) << STATE_SHIFT);
+            manuallySet[index] = manual;
+            notifyObserver(index);
+        }
+    }
+
+    /**
+     * adds a change at the end of the trail, the changes that were undone can no longer be redone
+     * before the first mark only the position moves, so a grid changed without marks does not grow its trail
+     */
+    private void record(long entry) {
+        if (!marked) {
+            trailStart++;
+        } else {
+            int end = trailSize - trailStart;
+            if (end == trail.length) {
+                trail = Arrays.copyOf(trail, trail.length * 2);
+            }
+            trail[end] = entry;
+        }
+        trailSize++;
+        redoSize = trailSize;
+    }
+
+    /**
+     * @return the number of changes kept in the trail, done or undone
+     */
+    int getTrailLength() {
+        return redoSize - trailStart;
+    }
+
+    /**
+     * the position in the changes made to the grid, to be given to {@link #undo(int)} to come back to this state
+     * Taking a mark costs nothing, so a search can take one at each branch point
+     * @return the current position in the changes
+     */
+    public int mark() {
+        marked = true;
+        return trailSize;
+    }
+
+    /**
+     * puts the grid back as it was when the mark was taken
+     * the undone changes can be redone with {@link #redo(int)} until another change is made
+     * @param mark a mark taken since the last reset, not after the current position
+     */
+    public void undo(int mark) {
+        while (trailSize > mark) {
+            trailSize--;
+            trail[trailSize - trailStart] = swap(trail[trailSize - trailStart]);
+        }
+        if (log != null) {
+            log.undo(mark);
+        }
+    }
+
+    /**
+     * makes again the changes undone by {@link #undo(int)}, up to the given mark
+     * @param mark the mark that was current when undo was called
+     */
+    public void redo(int mark) {
+        int end = Math.min(mark, redoSize);
+        while (trailSize < end) {
+            trail[trailSize - trailStart] = swap(trail[trailSize - trailStart]);
+            trailSize++;
+        }
+    }
+
+    /**
+     * puts back the state kept in a trail entry
+     * @return the entry keeping the state that was replaced, so the change can be made again
+     */
+    private long swap(long entry) {
+        int index = (int) (entry & INDEX_MASK);
+        int state = (int) (entry >>> STATE_SHIFT);
+        if ((entry & MANUAL_ENTRY) != 0) {
+            long current = manuallySet[index] ? 1 : 0;
+            manuallySet[index] = state != 0;
+            notifyObserver(index);
+            return MANUAL_ENTRY | index | current << STATE_SHIFT;
+        }
+        long current = candidates[index];
+        applyCandidates(index, state);
+        return index | current << STATE_SHIFT;
+    }
+
+    private void notifyObserver(int index) {
+        if (observer != null) {
+            observer.cellChanged(cells[index]);
+        }
+    }
+
+    /**
+     * Attaches an observer to the grid, typically a user interface
+     * @param observer the observer to notify of each change, or null to detach it
+     */
+    public void setObserver(GridObserver observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * Attaches a log recording every candidate removed from now on, to know how the grid was solved
+     * @param log the log receiving the removals, or null to stop recording
+     */
+    public void setLog(SolveLog log) {
+        this.log = log;
+    }
+
+    /**
+     * @return the log recording the removed candidates, or null if the solving is not recorded
+     */
+    public SolveLog getLog() {
+        return log;
+    }
+
+    /**
+     * Attaches the limits of a solving, the solvers and searches give up once one is reached
+     * @param limit the limits, or null to let the solving run until it is done
+     */
+    public void setLimit(SolveLimit limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * @return the limits of the current solving, or null if it has none
+     */
+    public SolveLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return whether the grid is resolved, i.e. all cells have a chosen value
+     */
+    public boolean isResolved() {
+        return solvedCount == cellCount;
+    }
+
+    /**
+     * a contradiction is a cell left without any possible value, it goes away when the change is undone
+     * the solvers stop as soon as they see one, and a search drops the branch that led to it
+     * @return whether the grid has a contradiction, in which case it has no solution
+     */
+    public boolean hasContradiction() {
+        return emptyCount > 0;
+    }
+
+    /**
+     * @return the number of cells with a chosen value
+     */
+    public int getSolvedCount() {
+        return solvedCount;
+    }
+
+    /**
+     * @return whether each line, column and block contains every value, only meaningful once the grid is resolved
+     */
+    public boolean isConsistent() {
+        return isConsistent(horizontalLines) && isConsistent(verticalLines) && isConsistent(blocks);
+    }
+
+    private boolean isConsistent(Group[] groups) {
+        for (Group group : groups) {
+            int values = 0;
+            for (int i = 0; i < size; i++) {
+                values |= group.getCell(i).getPossibilities();
+            }
+            if (values != allCandidates) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a copy of the candidate masks of all the cells
+     */
+    public int[] copyCandidates() {
+        return candidates.clone();
+    }
+
+    /**
+     * copies the candidate masks of all the cells without allocating
+     * @param snapshot the array receiving the masks, at least {@link #getCellCount()} long
+     */
+    public void copyCandidates(int[] snapshot) {
+        System.arraycopy(candidates, 0, snapshot, 0, cellCount);
+    }
+
+    /**
+     * puts back candidate masks copied by {@link #copyCandidates()}
+     * @param saved the candidate masks to restore
+     */
+    public void restoreCandidates(int[] saved) {
+        for (int index = 0; index < cellCount; index++) {
+            setCandidates(index, saved[index]);
+        }
+    }
+
+    /**
+     * @return all vertical lines of the grid
+     */
+    public Group[] getVerticalLines() {
+        return  verticalLines;
+    }
+
+    /**
+     * @return all horizontal lines of the grid
+     */
+    public Group[] getHorizontalLines() {
+        return  horizontalLines;
+    }
+
+    /**
+     * @return all blocks of the grid
+     */
+    public Group[] getBlocks() {
+        return blocks;
+    }
+}
\ No newline at end of file
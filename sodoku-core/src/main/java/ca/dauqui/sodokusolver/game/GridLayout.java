@@ -0,0 +1,90 @@
+package ca.dauqui.sodokusolver.game;
+
+import java.util.Arrays;
+
+/**
+ * The cells of each group and the peers of each cell, for one size of grid
+ * The tables only depend on the size, so they are built once when the class is loaded
+ * and shared by every grid of that size, creating a grid copies nothing.
+ * The arrays are never changed once built.
+ */
+final class GridLayout {
+    private static final GridLayout[] LAYOUTS = new GridLayout[Grid.MAX_BLOCK_SIZE + 1];
+
+    static {
+        for (int blockSize = Grid.MIN_BLOCK_SIZE; blockSize <= Grid.MAX_BLOCK_SIZE; blockSize++) {
+            LAYOUTS[blockSize] = new GridLayout(blockSize);
+        }
+    }
+
+    /**
+     * the index of the cell at each position of each group, the groups ordered like {@link Grid#getGroup(int)}
+     * the position of a cell in a vertical line is its y, in a horizontal line its x,
+     * and in a block the blocks and their cells are numbered from up to down, then left to right
+     */
+    private final int[][] groupCells;
+    /**
+     * the vertical line, horizontal line and block of each cell
+     */
+    private final int[][] cellGroups;
+    /**
+     * the other cells sharing a group with each cell, by increasing index, 20 in a standard grid
+     */
+    private final int[][] peers;
+
+    private GridLayout(int blockSize) {
+        int size = blockSize * blockSize;
+        int cellCount = size * size;
+        groupCells = new int[3 * size][size];
+        cellGroups = new int[cellCount][];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                int index = y * size + x;
+                int block = (x / blockSize) * blockSize + y / blockSize;
+                groupCells[x][y] = index;
+                groupCells[size + y][x] = index;
+                groupCells[2 * size + block][(x % blockSize) * blockSize + y % blockSize] = index;
+                cellGroups[index] = new int[]{x, size + y, 2 * size + block};
+            }
+        }
+
+        peers = new int[cellCount][];
+        boolean[] seen = new boolean[cellCount];
+        for (int index = 0; index < cellCount; index++) {
+            Arrays.fill(seen, false);
+            for (int group : cellGroups[index]) {
+                for (int cell : groupCells[group]) {
+                    seen[cell] = cell != index;
+                }
+            }
+            int[] cellPeers = new int[3 * (size - 1) - 2 * (blockSize - 1)];
+            int count = 0;
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (seen[cell]) {
+                    cellPeers[count++] = cell;
+                }
+            }
+            peers[index] = cellPeers;
+        }
+    }
+
+    /**
+     * @param blockSize the block size of a grid
+     * @return the layout of the grids of that size
+     */
+    static GridLayout of(int blockSize) {
+        return LAYOUTS[blockSize];
+    }
+
+    int[] getGroupCells(int group) {
+        return groupCells[group];
+    }
+
+    int[] getCellGroups(int index) {
+        return cellGroups[index];
+    }
+
+    int[] getPeers(int index) {
+        return peers[index];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package ca.dauqui.sodokusolver.game;
+
+/**
+ * Interface of an observer of the grid
+ * this is used by a user interface to be kept in sync with the candidate masks of the grid
+ * A grid without observer does not pay for any notification
+ */
+@FunctionalInterface
+public interface GridObserver {
+    /**
+     * called each time the candidates or the manually set state of a cell changes
+     *
+     * @param cell the cell that changed
+     */
+    void cellChanged(Cell cell);
+}
\ No newline at end of file
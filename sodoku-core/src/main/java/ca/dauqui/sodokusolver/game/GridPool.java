@@ -0,0 +1,119 @@
+package ca.dauqui.sodokusolver.game;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of grids to reuse for solving many puzzles, instead of building a grid with all its cells and groups
+ * for each one
+ * <p>
+ * Each thread keeps its own idle grids for each block size, so taking and giving back a grid takes no lock.
+ * A grid taken from the pool may still hold its last puzzle, {@link Grid#loadGivens(int[])} resets it and sets
+ * a new puzzle in place, so a grid is only reset once between two puzzles.
+ * A grid given back from another thread goes to the idle grids of that thread.
+ * <p>
+ * The counters tell how to size the pool: many discarded grids mean it keeps too few idle grids,
+ * many created grids compared to the reused ones mean the threads do not live long enough to reuse them.
+ */
+public final class GridPool {
+    /**
+     * the idle grids of each thread, by block size
+     */
+    private final ThreadLocal<ArrayDeque<Grid>[]> idle;
+    private final int maxIdlePerThread;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder idleCount = new LongAdder();
+
+    /**
+     * @param maxIdlePerThread the number of idle grids each thread keeps at most for each block size
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public GridPool(int maxIdlePerThread) {
+        if (maxIdlePerThread <= 0) {
+            throw new IllegalArgumentException("maxIdlePerThread must be positive: " + maxIdlePerThread);
+        }
+        this.maxIdlePerThread = maxIdlePerThread;
+        idle = ThreadLocal.withInitial(() -> new ArrayDeque[Grid.MAX_BLOCK_SIZE + 1]);
+    }
+
+    /**
+     * takes a grid from the idle grids of the calling thread, or creates one
+     * the grid may still hold the puzzle of its last use, see {@link Grid#loadGivens(int[])} and {@link Grid#reset()}
+     * @param blockSize the block size of the grid
+     * @return a grid to give back with {@link #release(Grid)} when done
+     */
+    public Grid acquire(int blockSize) {
+        if (blockSize < Grid.MIN_BLOCK_SIZE || blockSize > Grid.MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("blockSize must be from " + Grid.MIN_BLOCK_SIZE + " to "
+                    + Grid.MAX_BLOCK_SIZE + ": " + blockSize);
+        }
+        ArrayDeque<Grid> grids = idle.get()[blockSize];
+        Grid grid = grids == null ? null : grids.poll();
+        if (grid == null) {
+            created.increment();
+            return new Grid(blockSize);
+        }
+        reused.increment();
+        idleCount.decrement();
+        return grid;
+    }
+
+    /**
+     * gives back a grid, it is detached from its observer, log and limit but keeps its content
+     * the grid must not be used by the caller anymore
+     * @param grid a grid taken from this pool
+     */
+    public void release(Grid grid) {
+        grid.setObserver(null);
+        grid.setLog(null);
+        grid.setLimit(null);
+        ArrayDeque<Grid>[] grids = idle.get();
+        int blockSize = grid.getBlockSize();
+        if (grids[blockSize] == null) {
+            grids[blockSize] = new ArrayDeque<>(maxIdlePerThread);
+        }
+        if (grids[blockSize].size() >= maxIdlePerThread) {
+            discarded.increment();
+            return;
+        }
+        grids[blockSize].push(grid);
+        idleCount.increment();
+    }
+
+    /**
+     * @return the number of grids created because the calling thread had no idle grid
+     */
+    public long getCreated() {
+        return created.sum();
+    }
+
+    /**
+     * @return the number of grids taken from the idle grids
+     */
+    public long getReused() {
+        return reused.sum();
+    }
+
+    /**
+     * @return the number of grids given back while the thread already kept enough idle grids
+     */
+    public long getDiscarded() {
+        return discarded.sum();
+    }
+
+    /**
+     * @return the number of idle grids of all the threads, the grids kept by threads that ended included
+     */
+    public long getIdle() {
+        return idleCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "created: " + getCreated() + ", reused: " + getReused() + ", discarded: " + getDiscarded()
+                + ", idle: " + getIdle();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package ca.dauqui.sodokusolver.game;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a line, column or block of the grid
+ */
+public class Group {
+    /**
+     * the cells in this group
+     */
+    private final Cell[] cells;
+    /**
+     * the position of this group in the groups of the grid, see {@link Grid#getGroup(int)}
+     */
+    private final int index;
+    /**
+     * for each value - 1, the positions of the cells where the value is still possible, one bit per position
+     * filled by {@link #getPositionsByValue()} and reused by each call
+     */
+    private final int[] positions;
+
+    /**
+     * @param index the position of this group in the groups of the grid
+     * @param size the number of cells of the group
+     */
+    public Group(int index, int size) {
+        this.index = index;
+        cells = new Cell[size];
+        positions = new int[size];
+    }
+
+    /**
+     * @return the position of this group in the groups of the grid
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the number of cells of this group, which is also the number of values
+     */
+    public int getSize() {
+        return cells.length;
+    }
+
+    /**
+     * sets a cell in this group
+     * @param pos the position of the cell in the group
+     * @param cell the cell in that position
+     */
+    public void setCell(int pos, Cell cell) {
+        cells[pos] = cell;
+    }
+
+    /**
+     * @param pos the position of the cell we want
+     * @return the cell in the asked position
+     */
+    public Cell getCell(int pos) {
+        return cells[pos];
+    }
+
+    /**
+     * groups the positions of the cells based on the numbers they can contain
+     * i.e. bit p of the mask at position 0 is set if the cell at position p can be 1, etc.
+     * the returned array is the same for each call, so it is only valid until the next call on this group
+     * @return an array of position masks, each position in the array represents a value-1
+     */
+    public int[] getPositionsByValue() {
+        Arrays.fill(positions, 0);
+        for (int pos = 0; pos < cells.length; pos++) {
+            for (int values = cells[pos].getPossibilities(); values != 0; values &= values - 1) {
+                positions[Integer.numberOfTrailingZeros(values)] |= 1 << pos;
+            }
+        }
+        return positions;
+    }
+}
\ No newline at end of file
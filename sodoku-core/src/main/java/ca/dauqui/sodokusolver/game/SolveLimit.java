@@ -0,0 +1,99 @@
+package ca.dauqui.sodokusolver.game;
+
+import java.time.Duration;
+
+/**
+ * The limits of one solving, attached to the grid with {@link Grid#setLimit(SolveLimit)}
+ * <p>
+ * A solving can be stopped by a deadline, by a budget of search nodes (each value guessed by a search is a node)
+ * or by a {@link CancellationToken}. The solvers check the limit between their steps and the searches
+ * on each node, so a solving goes over its deadline by at most one solver step.
+ * Once a limit is reached it stays reached, the solvers and searches give up and the grid keeps
+ * what was found before the search started.
+ * <p>
+ * A limit counts the nodes of a single solving in a single thread, only its token can be shared.
+ */
+public final class SolveLimit {
+    /**
+     * the clock is only read once every that many nodes, a node of the dancing links being very short
+     */
+    private static final int CLOCK_INTERVAL = 64;
+
+    /**
+     * what stopped the solving
+     */
+    public enum Reason {
+        TIMEOUT,
+        NODE_BUDGET,
+        CANCELLED,
+    }
+
+    private final long deadline;
+    private final boolean hasDeadline;
+    private final long maxNodes;
+    private final CancellationToken token;
+
+    private long nodes = 0;
+    private Reason reason;
+
+    /**
+     * @param timeout the time the solving can take from now, or null for no deadline
+     * @param maxNodes the number of search nodes the solving can visit, {@link Long#MAX_VALUE} for no budget
+     * @param token the token to cancel the solving with, or null if it cannot be cancelled
+     */
+    public SolveLimit(Duration timeout, long maxNodes, CancellationToken token) {
+        if (maxNodes < 0) {
+            throw new IllegalArgumentException("maxNodes must not be negative: " + maxNodes);
+        }
+        hasDeadline = timeout != null;
+        deadline = hasDeadline ? System.nanoTime() + timeout.toNanos() : 0;
+        this.maxNodes = maxNodes;
+        this.token = token;
+    }
+
+    /**
+     * checks the deadline and the token
+     * @return whether the solving must stop
+     */
+    public boolean isReached() {
+        if (reason != null) {
+            return true;
+        }
+        if (token != null && token.isCancelled()) {
+            reason = Reason.CANCELLED;
+        } else if (hasDeadline && System.nanoTime() - deadline >= 0) {
+            reason = Reason.TIMEOUT;
+        }
+        return reason != null;
+    }
+
+    /**
+     * counts a search node, the clock is only read from time to time
+     * @return whether the solving must stop, in which case the node must not be visited
+     */
+    public boolean countNode() {
+        if (reason != null) {
+            return true;
+        }
+        if (nodes >= maxNodes) {
+            reason = Reason.NODE_BUDGET;
+            return true;
+        }
+        nodes++;
+        return nodes % CLOCK_INTERVAL == 0 && isReached();
+    }
+
+    /**
+     * @return what stopped the solving, or null if no limit was reached
+     */
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * @return the number of search nodes visited so far
+     */
+    public long getNodes() {
+        return nodes;
+    }
+}
\ No newline at end of file
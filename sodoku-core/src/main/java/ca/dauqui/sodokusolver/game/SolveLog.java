@@ -0,0 +1,149 @@
+package ca.dauqui.sodokusolver.game;
+
+import java.util.Arrays;
+
+/**
+ * A compact log of the candidates removed while solving a grid, attached with {@link Grid#setLog(SolveLog)}
+ * <p>
+ * Each event is a single long: the values removed from a cell and the source of the removal,
+ * i.e. the solver or search that was running. The events of one call to a solver form a step.
+ * The removals that follow from another one (a cell left with a single value) belong to the same step.
+ * <p>
+ * The log follows the grid: undoing changes (see {@link Grid#undo(int)}) also removes their events,
+ * so after a search only the path to the solution is left. Redone changes are not logged again.
+ * A grid without a log only pays for a null check on each change.
+ */
+public final class SolveLog {
+    /**
+     * the source of the changes made while no solver is running, e.g. by the user
+     */
+    public static final int NONE = 0xFF;
+    /**
+     * the source of the values guessed by a search
+     */
+    public static final int SEARCH = 0xFE;
+
+    /**
+     * the bits of an event: the removed values, then the cell, then the source, then the start of a step
+     * they are wide enough for the largest grid
+     */
+    private static final int VALUE_BITS = Grid.MAX_BLOCK_SIZE * Grid.MAX_BLOCK_SIZE;
+    private static final int CELL_SHIFT = VALUE_BITS;
+    private static final int SOURCE_SHIFT = CELL_SHIFT + 10;
+    private static final long STEP_START = 1L << (SOURCE_SHIFT + 8);
+
+    /**
+     * the events, oldest first
+     */
+    private long[] events = new long[Grid.CELL_COUNT * 4];
+    /**
+     * the position in the changes of the grid of each event, to forget the events that are undone
+     */
+    private int[] marks = new int[Grid.CELL_COUNT * 4];
+    private int size = 0;
+    private int stepCount = 0;
+
+    private int source = NONE;
+    private boolean stepStarted = false;
+
+    /**
+     * starts a new step, the next removals come from the given source
+     * a step that removes nothing leaves nothing in the log
+     * @param source the ordinal of the solver, or {@link #SEARCH} or {@link #NONE}
+     */
+    public void beginStep(int source) {
+        this.source = source;
+        stepStarted = false;
+    }
+
+    /**
+     * adds the removal of some values from a cell
+     * @param mark the position in the changes of the grid, see {@link Grid#mark()}
+     * @param index the index of the cell
+     * @param removed the candidate mask of the values removed
+     */
+    void record(int mark, int index, int removed) {
+        if (size == events.length) {
+            events = Arrays.copyOf(events, size * 2);
+            marks = Arrays.copyOf(marks, size * 2);
+        }
+        long event = removed | (long) index << CELL_SHIFT | (long) source << SOURCE_SHIFT;
+        if (!stepStarted) {
+            stepStarted = true;
+            event |= STEP_START;
+            stepCount++;
+        }
+        events[size] = event;
+        marks[size] = mark;
+        size++;
+    }
+
+    /**
+     * forgets the events of the changes undone back to the given mark
+     */
+    void undo(int mark) {
+        while (size > 0 && marks[size - 1] >= mark) {
+            size--;
+            if (isStepStart(size)) {
+                stepCount--;
+            }
+        }
+        // the next removal, if any, continues a step that is not in the log anymore
+        stepStarted = false;
+    }
+
+    /**
+     * forgets every event
+     */
+    public void clear() {
+        size = 0;
+        stepCount = 0;
+        stepStarted = false;
+    }
+
+    /**
+     * @return the number of events in the log
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of steps in the log
+     */
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * @param event the position of the event in the log
+     * @return whether the event is the first one of its step
+     */
+    public boolean isStepStart(int event) {
+        return (events[event] & STEP_START) != 0;
+    }
+
+    /**
+     * @param event the position of the event in the log
+     * @return the source of the removal, the ordinal of a solver or {@link #SEARCH} or {@link #NONE}
+     */
+    public int getSource(int event) {
+        return (int) (events[event] >>> SOURCE_SHIFT & 0xFF);
+    }
+
+    /**
+     * @param event the position of the event in the log
+     * @return the index of the cell
+     */
+    public int getCell(int event) {
+        return (int) (events[event] >>> CELL_SHIFT & 0x3FF);
+    }
+
+    /**
+     * @param event the position of the event in the log
+     * @return the candidate mask of the values removed from the cell
+     */
+    public int getEliminated(int event) {
+        return (int) (events[event] & (1L << VALUE_BITS) - 1);
+    }
+}
\ No newline at end of file
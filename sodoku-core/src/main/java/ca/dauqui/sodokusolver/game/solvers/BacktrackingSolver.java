@@ -0,0 +1,95 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Candidates;
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+import ca.dauqui.sodokusolver.game.SolveLog;
+
+/**
+ * This solver is the last resort when the other solvers cannot progress anymore
+ * It takes the cell with the fewest possible values, tries each of those values and runs the other solvers again,
+ * going deeper until the grid is resolved.
+ * When a value leads to a contradiction, the grid is put back as it was before trying it by undoing the changes
+ * made since, so a branch point costs nothing to take
+ * <p>
+ * Each guess is a node of the {@link SolveLimit} of the grid. When the limit is reached the search gives up
+ * and the grid is put back as it was before the search
+ */
+public class BacktrackingSolver implements Solver {
+    /**
+     * returned by {@link #chooseCell(Grid)} when every cell has a chosen value
+     */
+    private static final int RESOLVED = -1;
+
+    /**
+     * searches a solution to the grid
+     * @param grid the grid to solve
+     * @return whether the call changed the grid, the grid is left untouched if it has no solution
+     * or if its limit was reached
+     */
+    @Override
+    public boolean solve(Grid grid) {
+        if (grid.isResolved() || grid.hasContradiction()) {
+            return false;
+        }
+        int start = grid.mark();
+        if (search(grid, grid.getLimit())) {
+            return true;
+        }
+        grid.undo(start);
+        return false;
+    }
+
+    /**
+     * @param grid the grid to solve
+     * @param limit the limits of the solving, or null
+     * @return whether a solution was found, in which case the grid contains it
+     */
+    private boolean search(Grid grid, SolveLimit limit) {
+        Solvers.propagate(grid);
+        if (grid.hasContradiction() || limit != null && limit.getReason() != null) {
+            return false;
+        }
+        int index = chooseCell(grid);
+        if (index == RESOLVED) {
+            return grid.isConsistent();
+        }
+
+        // each guess starts from the same candidates
+        int branchPoint = grid.mark();
+        for (int values = grid.getCandidates(index); values != 0; values &= values - 1) {
+            if (limit != null && limit.countNode()) {
+                return false;
+            }
+            SolveLog log = grid.getLog();
+            if (log != null) {
+                log.beginStep(SolveLog.SEARCH);
+            }
+            grid.getCell(index).setCellValue(Candidates.first(values), false);
+            if (search(grid, limit)) {
+                return true;
+            }
+            grid.undo(branchPoint);
+        }
+        return false;
+    }
+
+    /**
+     * finds the cell to guess, the unchosen cell with the fewest possible values
+     * @param grid the grid to look into
+     * @return the index of the cell, or {@link #RESOLVED}
+     */
+    private static int chooseCell(Grid grid) {
+        int best = RESOLVED;
+        int bestCount = Integer.MAX_VALUE;
+        int cellCount = grid.getCellCount();
+        for (int index = 0; index < cellCount; index++) {
+            int count = Candidates.count(grid.getCandidates(index));
+            if (count > 1 && count < bestCount) {
+                best = index;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Cell;
+import ca.dauqui.sodokusolver.game.Group;
+
+/**
+ * This solver looks at the cells shared by a block and a line (horizontal or vertical), 3 in a standard grid
+ * <p>
+ * Pointing: if a value of the block can only be in the shared cells, it is removed from the rest of the line
+ * Claiming: if a value of the line can only be in the shared cells, it is removed from the rest of the block
+ * <p>
+ * An intersection only changes when its block or its line changes,
+ * so a block is treated with its lines and a line with its blocks.
+ */
+public class BlockAndLineIntersection extends SingleGroupSolver {
+
+    @Override
+    protected boolean doGroup(Group group) {
+        boolean changed = false;
+        boolean isBlock = group.getCell(0).getBlockGroup() == group;
+        for (int pos = 0; pos < group.getSize(); pos++) {
+            Cell cell = group.getCell(pos);
+            if (isBlock) {
+                if (isFirstWith(group, pos, cell.getHorizontalGroup())) {
+                    changed |= intersect(group, cell.getHorizontalGroup());
+                }
+                if (isFirstWith(group, pos, cell.getVerticalGroup())) {
+                    changed |= intersect(group, cell.getVerticalGroup());
+                }
+            } else if (isFirstWith(group, pos, cell.getBlockGroup())) {
+                changed |= intersect(cell.getBlockGroup(), group);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @param group the group being treated
+     * @param pos the position of a cell in the group
+     * @param other a group the cell is a member of
+     * @return whether no cell before that position is also a member of the other group
+     */
+    private static boolean isFirstWith(Group group, int pos, Group other) {
+        for (int before = 0; before < pos; before++) {
+            if (isMember(group.getCell(before), other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMember(Cell cell, Group group) {
+        return cell.getHorizontalGroup() == group || cell.getVerticalGroup() == group || cell.getBlockGroup() == group;
+    }
+
+    /**
+     * removes the values that are confined to the shared cells from the rest of the other group
+     * @param block the block
+     * @param line the line crossing the block
+     * @return whether this call changed the grid
+     */
+    private static boolean intersect(Group block, Group line) {
+        int shared = 0;
+        int blockRest = 0;
+        for (int pos = 0; pos < block.getSize(); pos++) {
+            Cell cell = block.getCell(pos);
+            if (isMember(cell, line)) {
+                shared |= cell.getPossibilities();
+            } else {
+                blockRest |= cell.getPossibilities();
+            }
+        }
+        int lineRest = 0;
+        for (int pos = 0; pos < line.getSize(); pos++) {
+            Cell cell = line.getCell(pos);
+            if (cell.getBlockGroup() != block) {
+                lineRest |= cell.getPossibilities();
+            }
+        }
+
+        int pointing = shared & ~blockRest;
+        int claiming = shared & ~lineRest;
+        boolean changed = false;
+        if (pointing != 0) {
+            for (int pos = 0; pos < line.getSize(); pos++) {
+                Cell cell = line.getCell(pos);
+                if (cell.getBlockGroup() != block && !cell.isChosen()) {
+                    changed |= cell.removePossibilities(pointing);
+                }
+            }
+        }
+        if (claiming != 0) {
+            for (int pos = 0; pos < block.getSize(); pos++) {
+                Cell cell = block.getCell(pos);
+                if (!isMember(cell, line) && !cell.isChosen()) {
+                    changed |= cell.removePossibilities(claiming);
+                }
+            }
+        }
+        return changed;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+/**
+ * A simple class to enumerate the subsets of a given size as bit masks
+ * ex.: the subsets of 2 among 3 are 0b011, 0b101, 0b110
+ */
+final class Combinations {
+    private Combinations() {}
+
+    /**
+     * @param size the number of bits of the combinations
+     * @return the smallest mask with that many bits
+     */
+    static int first(int size) {
+        return (1 << size) - 1;
+    }
+
+    /**
+     * @param combination a mask of n bits
+     * @return the next larger mask with the same number of bits (Gosper's hack)
+     */
+    static int next(int combination) {
+        int lowest = combination & -combination;
+        int ripple = combination + lowest;
+        return (((ripple ^ combination) >>> 2) / lowest) | ripple;
+    }
+}
\ No newline at end of file
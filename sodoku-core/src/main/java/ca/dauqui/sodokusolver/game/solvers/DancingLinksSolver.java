@@ -0,0 +1,404 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Candidates;
+import ca.dauqui.sodokusolver.game.Cell;
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+import ca.dauqui.sodokusolver.game.SolveLog;
+
+/**
+ * This solver encodes the grid as an exact cover problem and solves it with Knuth's dancing links (algorithm X)
+ * <p>
+ * Each of the 729 rows of the matrix of a standard grid is a value placed in a cell, and it covers 4 of the 324
+ * constraints: the cell has a value, the line has the value, the column has the value and the block has the value.
+ * A solution is a set of 81 rows covering each constraint exactly once.
+ * <p>
+ * Its worst case does not depend on how well the other solvers do, which makes it predictable on adversarial puzzles.
+ * The links are kept in plain int arrays, one matrix per thread and grid size, copied back from a template
+ * before each call.
+ * <p>
+ * Each row tried is a node of the {@link SolveLimit} of the grid, the search gives up once the limit is reached.
+ */
+public class DancingLinksSolver implements Solver {
+    /**
+     * node 0 is the root, then come the constraint headers, then 4 nodes per row
+     */
+    private static final int ROOT = 0;
+
+    /**
+     * the complete matrix of each block size, built the first time a grid of that size is solved
+     */
+    private static final Matrix[] TEMPLATES = new Matrix[Grid.MAX_BLOCK_SIZE + 1];
+
+    /**
+     * the matrix of each thread for each block size, so the solver itself stays without state
+     */
+    private static final ThreadLocal<Matrix[]> MATRICES =
+            ThreadLocal.withInitial(() -> new Matrix[Grid.MAX_BLOCK_SIZE + 1]);
+
+    /**
+     * searches a solution to the grid and sets it in the cells
+     * @param grid the grid to solve
+     * @return whether the call changed the grid, the grid is left untouched if it has no solution
+     * or if its limit was reached
+     */
+    @Override
+    public boolean solve(Grid grid) {
+        if (grid.hasContradiction()) {
+            return false;
+        }
+        Matrix matrix = matrixFor(grid);
+        if (!matrix.load(grid) || !matrix.search(grid.getLimit())) {
+            return false;
+        }
+
+        // the whole solution comes from the search, as a single step
+        SolveLog log = grid.getLog();
+        if (log != null) {
+            log.beginStep(SolveLog.SEARCH);
+        }
+        boolean changed = false;
+        for (int i = 0; i < matrix.solutionLength; i++) {
+            int row = matrix.solution[i];
+            Cell cell = grid.getCell(row / grid.getSize());
+            if (!cell.isChosen()) {
+                changed |= cell.setCellValue(row % grid.getSize() + 1, false);
+            }
+        }
+        if (log != null) {
+            log.beginStep(SolveLog.NONE);
+        }
+        return changed;
+    }
+
+    /**
+     * counts the solutions of the grid without changing it, each row tried being a node of the limit of the grid
+     * @param grid the grid to look into
+     * @param limit the count at which the search stops
+     * @return the number of solutions, the limit if there are at least that many,
+     * or {@link SolutionCounter#UNKNOWN} if the limit of the grid was reached first
+     */
+    int countSolutions(Grid grid, int limit) {
+        if (grid.hasContradiction()) {
+            return 0;
+        }
+        Matrix matrix = matrixFor(grid);
+        if (!matrix.load(grid)) {
+            return 0;
+        }
+        SolveLimit solveLimit = grid.getLimit();
+        int found = matrix.count(limit, solveLimit);
+        if (found < limit && solveLimit != null && solveLimit.getReason() != null) {
+            return SolutionCounter.UNKNOWN;
+        }
+        return found;
+    }
+
+    /**
+     * @param grid the grid to solve
+     * @return the complete matrix of the size of the grid, confined to the calling thread
+     */
+    private static Matrix matrixFor(Grid grid) {
+        Matrix[] matrices = MATRICES.get();
+        int blockSize = grid.getBlockSize();
+        if (matrices[blockSize] == null) {
+            matrices[blockSize] = new Matrix(template(blockSize));
+        }
+        Matrix matrix = matrices[blockSize];
+        matrix.copy(matrix.template);
+        return matrix;
+    }
+
+    private static synchronized Matrix template(int blockSize) {
+        if (TEMPLATES[blockSize] == null) {
+            TEMPLATES[blockSize] = new Matrix(blockSize);
+        }
+        return TEMPLATES[blockSize];
+    }
+
+    /**
+     * The exact cover matrix as doubly linked lists in arrays
+     */
+    private static final class Matrix {
+        /**
+         * the sizes of the grid
+         */
+        private final int blockSize;
+        private final int gridSize;
+        private final int cellCount;
+        private final int constraintCount;
+        private final int firstRowNode;
+        private final int nodeCount;
+        /**
+         * the complete matrix this one is copied from before each call, null for a template
+         */
+        private final Matrix template;
+
+        private final int[] left;
+        private final int[] right;
+        private final int[] up;
+        private final int[] down;
+        /**
+         * the header of the constraint of each node
+         */
+        private final int[] header;
+        /**
+         * the number of rows still linked in each constraint, indexed by header node
+         */
+        private final int[] size;
+        /**
+         * whether the constraint of each header node is already covered
+         */
+        private final boolean[] covered;
+
+        /**
+         * the rows chosen so far, the givens first
+         */
+        private final int[] solution;
+        private int solutionLength;
+
+        /**
+         * builds the complete matrix of a grid
+         * @param blockSize the block size of the grid
+         */
+        Matrix(int blockSize) {
+            this(blockSize, null);
+            // the root and the headers form the first horizontal list
+            for (int h = ROOT; h <= constraintCount; h++) {
+                left[h] = h == ROOT ? constraintCount : h - 1;
+                right[h] = h == constraintCount ? ROOT : h + 1;
+                up[h] = h;
+                down[h] = h;
+                header[h] = h;
+            }
+
+            for (int cell = 0; cell < cellCount; cell++) {
+                int y = cell / gridSize;
+                int x = cell % gridSize;
+                int block = (y / blockSize) * blockSize + x / blockSize;
+                for (int value = 0; value < gridSize; value++) {
+                    int first = firstRowNode + 4 * rowOf(cell, value);
+                    int[] constraints = {
+                            cell,
+                            cellCount + y * gridSize + value,
+                            2 * cellCount + x * gridSize + value,
+                            3 * cellCount + block * gridSize + value,
+                    };
+                    for (int k = 0; k < 4; k++) {
+                        int node = first + k;
+                        int h = constraints[k] + 1;
+                        left[node] = first + (k + 3) % 4;
+                        right[node] = first + (k + 1) % 4;
+                        // append at the bottom of the constraint
+                        header[node] = h;
+                        up[node] = up[h];
+                        down[node] = h;
+                        down[up[h]] = node;
+                        up[h] = node;
+                        size[h]++;
+                    }
+                }
+            }
+        }
+
+        /**
+         * creates a matrix to be filled by copying the given template
+         */
+        Matrix(Matrix template) {
+            this(template.blockSize, template);
+        }
+
+        private Matrix(int blockSize, Matrix template) {
+            this.template = template;
+            this.blockSize = blockSize;
+            gridSize = blockSize * blockSize;
+            cellCount = gridSize * gridSize;
+            constraintCount = 4 * cellCount;
+            firstRowNode = constraintCount + 1;
+            nodeCount = firstRowNode + 4 * cellCount * gridSize;
+            left = new int[nodeCount];
+            right = new int[nodeCount];
+            up = new int[nodeCount];
+            down = new int[nodeCount];
+            header = new int[nodeCount];
+            size = new int[constraintCount + 1];
+            covered = new boolean[constraintCount + 1];
+            solution = new int[cellCount];
+        }
+
+        /**
+         * @param cell the index of the cell
+         * @param value the value from 0 to the size of the grid - 1
+         * @return the index of the row placing the value in the cell
+         */
+        private int rowOf(int cell, int value) {
+            return cell * gridSize + value;
+        }
+
+        /**
+         * makes this matrix identical to the given one
+         */
+        void copy(Matrix other) {
+            System.arraycopy(other.left, 0, left, 0, nodeCount);
+            System.arraycopy(other.right, 0, right, 0, nodeCount);
+            System.arraycopy(other.up, 0, up, 0, nodeCount);
+            System.arraycopy(other.down, 0, down, 0, nodeCount);
+            System.arraycopy(other.header, 0, header, 0, nodeCount);
+            System.arraycopy(other.size, 0, size, 0, size.length);
+            System.arraycopy(other.covered, 0, covered, 0, covered.length);
+            solutionLength = 0;
+        }
+
+        /**
+         * removes the rows of the values that are not possible anymore, then chooses the rows of the chosen cells
+         * @param grid the grid to take the candidates from
+         * @return false if the chosen cells contradict each other
+         */
+        boolean load(Grid grid) {
+            for (int cell = 0; cell < cellCount; cell++) {
+                int missing = ~grid.getCandidates(cell) & grid.getAllCandidates();
+                for (; missing != 0; missing &= missing - 1) {
+                    removeRow(firstRowNode + 4 * rowOf(cell, Candidates.first(missing) - 1));
+                }
+            }
+            for (int cell = 0; cell < cellCount; cell++) {
+                int candidates = grid.getCandidates(cell);
+                if (Candidates.count(candidates) == 1) {
+                    int node = firstRowNode + 4 * rowOf(cell, Candidates.first(candidates) - 1);
+                    for (int k = 0; k < 4; k++) {
+                        if (covered[header[node + k]]) {
+                            return false;
+                        }
+                    }
+                    for (int k = 0; k < 4; k++) {
+                        cover(header[node + k]);
+                    }
+                    solution[solutionLength++] = rowOf(cell, Candidates.first(candidates) - 1);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * algorithm X, choosing each time the constraint with the fewest rows
+         * @param limit the limits of the solving, or null
+         * @return whether a solution was found, in which case the solution array contains it
+         */
+        boolean search(SolveLimit limit) {
+            if (right[ROOT] == ROOT) {
+                return true;
+            }
+            int chosen = right[ROOT];
+            for (int h = right[chosen]; h != ROOT; h = right[h]) {
+                if (size[h] < size[chosen]) {
+                    chosen = h;
+                }
+            }
+            if (size[chosen] == 0) {
+                return false;
+            }
+
+            cover(chosen);
+            for (int node = down[chosen]; node != chosen; node = down[node]) {
+                if (limit != null && limit.countNode()) {
+                    break;
+                }
+                solution[solutionLength++] = (node - firstRowNode) / 4;
+                for (int j = right[node]; j != node; j = right[j]) {
+                    cover(header[j]);
+                }
+                if (search(limit)) {
+                    return true;
+                }
+                for (int j = left[node]; j != node; j = left[j]) {
+                    uncover(header[j]);
+                }
+                solutionLength--;
+            }
+            uncover(chosen);
+            return false;
+        }
+
+        /**
+         * algorithm X exploring every branch instead of stopping at the first solution
+         * @param limit the number of solutions at which to stop
+         * @param solveLimit the limits of the solving, or null
+         * @return the number of solutions found, at most the limit, fewer if the solving limit was reached
+         */
+        int count(int limit, SolveLimit solveLimit) {
+            if (right[ROOT] == ROOT) {
+                return 1;
+            }
+            int chosen = right[ROOT];
+            for (int h = right[chosen]; h != ROOT; h = right[h]) {
+                if (size[h] < size[chosen]) {
+                    chosen = h;
+                }
+            }
+            if (size[chosen] == 0) {
+                return 0;
+            }
+
+            int found = 0;
+            cover(chosen);
+            for (int node = down[chosen]; node != chosen && found < limit; node = down[node]) {
+                if (solveLimit != null && solveLimit.countNode()) {
+                    break;
+                }
+                for (int j = right[node]; j != node; j = right[j]) {
+                    cover(header[j]);
+                }
+                found += count(limit - found, solveLimit);
+                for (int j = left[node]; j != node; j = left[j]) {
+                    uncover(header[j]);
+                }
+            }
+            uncover(chosen);
+            return found;
+        }
+
+        /**
+         * unlinks every node of a row from its constraint
+         */
+        private void removeRow(int first) {
+            for (int k = 0; k < 4; k++) {
+                int node = first + k;
+                down[up[node]] = down[node];
+                up[down[node]] = up[node];
+                size[header[node]]--;
+            }
+        }
+
+        /**
+         * removes a constraint and every row satisfying it from the matrix
+         */
+        private void cover(int h) {
+            covered[h] = true;
+            right[left[h]] = right[h];
+            left[right[h]] = left[h];
+            for (int i = down[h]; i != h; i = down[i]) {
+                for (int j = right[i]; j != i; j = right[j]) {
+                    down[up[j]] = down[j];
+                    up[down[j]] = up[j];
+                    size[header[j]]--;
+                }
+            }
+        }
+
+        /**
+         * puts back what {@link #cover(int)} removed, in the reverse order
+         */
+        private void uncover(int h) {
+            for (int i = up[h]; i != h; i = up[i]) {
+                for (int j = left[i]; j != i; j = left[j]) {
+                    size[header[j]]++;
+                    down[up[j]] = j;
+                    up[down[j]] = j;
+                }
+            }
+            right[left[h]] = h;
+            left[right[h]] = h;
+            covered[h] = false;
+        }
+    }
+}
\ No newline at end of file
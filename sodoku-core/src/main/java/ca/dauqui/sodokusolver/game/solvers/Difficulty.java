@@ -0,0 +1,118 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.SolveLog;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The difficulty of a puzzle, given by the hardest solvers needed to solve it without searching
+ * Each difficulty adds its solvers to the ones of the easier difficulties
+ */
+public enum Difficulty {
+    EASY(null, Solvers.SINGLE_POSS_IN_GROUP),
+    MEDIUM(EASY, Solvers.BLOCK_LINE_INTERSECTION, Solvers.NAKED_AND_HIDDEN_SUBSETS),
+    HARD(MEDIUM, Solvers.X_WING, Solvers.XY_WING, Solvers.SWORDFISH, Solvers.XYZ_WING, Solvers.JELLYFISH),
+    /**
+     * the solvers are not enough, the puzzle needs a search
+     */
+    EXPERT(HARD),
+    ;
+
+    /**
+     * the solvers allowed at this difficulty, in the cost order of {@link Solvers}
+     */
+    private final Solvers[] groupSolvers;
+    private final Solvers[] gridSolvers;
+
+    /**
+     * @param easier the previous difficulty, whose solvers are also allowed
+     * @param added the solvers this difficulty adds
+     */
+    Difficulty(Difficulty easier, Solvers... added) {
+        Set<Solvers> allowed = EnumSet.noneOf(Solvers.class);
+        if (easier != null) {
+            allowed.addAll(Arrays.asList(easier.groupSolvers));
+            allowed.addAll(Arrays.asList(easier.gridSolvers));
+        }
+        allowed.addAll(Arrays.asList(added));
+        groupSolvers = allowed.stream().filter(Solvers::isGroupSolver).toArray(Solvers[]::new);
+        gridSolvers = allowed.stream().filter(s -> !s.isGroupSolver()).toArray(Solvers[]::new);
+    }
+
+    /**
+     * runs the solvers allowed at this difficulty until they cannot progress anymore, without searching
+     * @param grid the grid to solve
+     * @return whether the call changed the grid
+     */
+    public boolean propagate(Grid grid) {
+        // the solvers must see every group, not only the ones changed since the last propagation
+        grid.markAllGroupsDirty();
+        return Scheduler.propagate(grid, groupSolvers, gridSolvers);
+    }
+
+    /**
+     * finds the easiest difficulty whose solvers resolve the grid
+     * the grid is put back as it was before returning
+     * @param grid the puzzle to rate, with a unique solution
+     * @return the difficulty of the puzzle
+     */
+    public static Difficulty rate(Grid grid) {
+        int mark = grid.mark();
+        Difficulty rating = EXPERT;
+        for (Difficulty difficulty : values()) {
+            if (difficulty == EXPERT) {
+                break;
+            }
+            difficulty.propagate(grid);
+            if (grid.isResolved()) {
+                rating = difficulty;
+                break;
+            }
+        }
+        grid.undo(mark);
+        return rating;
+    }
+
+    /**
+     * solves the grid while recording its steps, then grades them
+     * the harder solvers only come in when the easier ones are stuck, like in {@link #rate(Grid)}
+     * @param grid the puzzle to grade, left solved
+     * @return the grade of the puzzle
+     */
+    public static Grade grade(Grid grid) {
+        SolveLog previous = grid.getLog();
+        SolveLog log = new SolveLog();
+        grid.setLog(log);
+        try {
+            for (Difficulty difficulty : values()) {
+                if (difficulty == EXPERT || grid.isResolved() || grid.hasContradiction()) {
+                    break;
+                }
+                difficulty.propagate(grid);
+            }
+            if (!grid.isResolved() && !grid.hasContradiction()) {
+                SearchEngine.BACKTRACKING.solve(grid);
+            }
+        } finally {
+            grid.setLog(previous);
+        }
+        return Grade.of(log);
+    }
+
+    /**
+     * @param solver a solver
+     * @return the easiest difficulty allowing the solver
+     */
+    public static Difficulty of(Solvers solver) {
+        for (Difficulty difficulty : values()) {
+            if (Arrays.asList(difficulty.groupSolvers).contains(solver)
+                    || Arrays.asList(difficulty.gridSolvers).contains(solver)) {
+                return difficulty;
+            }
+        }
+        return EXPERT;
+    }
+}
\ No newline at end of file
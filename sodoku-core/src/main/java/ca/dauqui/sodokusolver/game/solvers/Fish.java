@@ -0,0 +1,107 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Candidates;
+import ca.dauqui.sodokusolver.game.Cell;
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.Group;
+
+/**
+ * This solver finds n lines where a value can only be in the same n columns (or n columns and the same n lines)
+ * The value must then be in those columns on those lines, so it is removed from the rest of the columns.
+ * With 2 lines it is called an X-Wing, with 3 a Swordfish and with 4 a Jellyfish
+ * ex.: X-Wing on 5
+ * line 1   5 can only be in columns 2 and 7
+ * line 6   5 can only be in columns 2 and 7
+ * result   5 is removed from columns 2 and 7 on all other lines
+ */
+public class Fish implements Solver {
+    /**
+     * the number of lines of the fish
+     */
+    private final int size;
+
+    /**
+     * the positions of each value in each line of a grid, by block size, reused by each call of the thread
+     * the solvers are shared by the threads solving in parallel
+     */
+    private static final ThreadLocal<int[][]> POSITIONS =
+            ThreadLocal.withInitial(() -> new int[Grid.MAX_BLOCK_SIZE + 1][]);
+
+    /**
+     * @param size the number of lines of the fish, from 2 to 4
+     */
+    public Fish(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public boolean solve(Grid grid) {
+        int[][] buffers = POSITIONS.get();
+        int[] positions = buffers[grid.getBlockSize()];
+        if (positions == null) {
+            positions = new int[grid.getSize() * grid.getSize()];
+            buffers[grid.getBlockSize()] = positions;
+        }
+        boolean changed = solve(grid.getHorizontalLines(), positions);
+        changed |= solve(grid.getVerticalLines(), positions);
+        return changed;
+    }
+
+    /**
+     * looks for fishes whose base lines are the given lines
+     * the cell at position p of a base line is in the crossing line p, so the position masks are crossing line masks
+     * @param lines the base lines, all horizontal or all vertical
+     * @param positions receives the positions of each value in each line, indexed by (value - 1) * lineCount + line
+     * @return whether this call changed the grid
+     */
+    private boolean solve(Group[] lines, int[] positions) {
+        int lineCount = lines.length;
+        for (int line = 0; line < lineCount; line++) {
+            int[] linePositions = lines[line].getPositionsByValue();
+            for (int value = 0; value < lineCount; value++) {
+                positions[value * lineCount + line] = linePositions[value];
+            }
+        }
+
+        boolean changed = false;
+        for (int value = 0; value < lineCount; value++) {
+            int offset = value * lineCount;
+            // a line where the value has a single position is already solved for that value
+            int baseLines = 0;
+            for (int line = 0; line < lineCount; line++) {
+                int count = Candidates.count(positions[offset + line]);
+                if (count >= 2 && count <= size) {
+                    baseLines |= 1 << line;
+                }
+            }
+            int count = Candidates.count(baseLines);
+            if (count < size) {
+                continue;
+            }
+
+            for (int combination = Combinations.first(size); combination < 1 << count;
+                 combination = Combinations.next(combination)) {
+                int fish = Integer.expand(combination, baseLines);
+                int crossing = 0;
+                for (int remaining = fish; remaining != 0; remaining &= remaining - 1) {
+                    crossing |= positions[offset + Integer.numberOfTrailingZeros(remaining)];
+                }
+                if (Candidates.count(crossing) != size) {
+                    continue;
+                }
+                for (int line = 0; line < lineCount; line++) {
+                    if ((fish & 1 << line) != 0) {
+                        continue;
+                    }
+                    for (int cells = positions[offset + line] & crossing; cells != 0; cells &= cells - 1) {
+                        Cell cell = lines[line].getCell(Integer.numberOfTrailingZeros(cells));
+                        if (!cell.isChosen()) {
+                            changed |= cell.removeCellValue(value + 1);
+                        }
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+}
\ No newline at end of file
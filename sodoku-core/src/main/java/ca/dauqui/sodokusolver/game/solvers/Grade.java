@@ -0,0 +1,67 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.SolveLog;
+
+/**
+ * How hard a puzzle was to solve, computed from the {@link SolveLog} of its solving
+ * @param difficulty the difficulty of the hardest step
+ * @param hardest the hardest solver used, null if no solver was needed
+ * @param steps the number of steps that removed candidates, searches included
+ * @param guesses the number of steps made by a search, i.e. the guesses kept in the path to the solution
+ * @param score the sum of the weights of the steps, a finer measure than the difficulty
+ */
+public record Grade(Difficulty difficulty, Solvers hardest, int steps, int guesses, int score) {
+    /**
+     * the weight of a step made by a search
+     */
+    private static final int SEARCH_WEIGHT = 20;
+
+    /**
+     * reads the steps of a log
+     * @param log the log of the solving of a puzzle
+     * @return the grade of the puzzle
+     */
+    public static Grade of(SolveLog log) {
+        Solvers[] solvers = Solvers.values();
+        Solvers hardest = null;
+        int steps = 0;
+        int guesses = 0;
+        int score = 0;
+        for (int event = 0; event < log.size(); event++) {
+            if (!log.isStepStart(event)) {
+                continue;
+            }
+            int source = log.getSource(event);
+            steps++;
+            if (source == SolveLog.SEARCH) {
+                guesses++;
+                score += SEARCH_WEIGHT;
+            } else if (source < solvers.length) {
+                Solvers solver = solvers[source];
+                score += weight(solver);
+                if (hardest == null || weight(solver) > weight(hardest)) {
+                    hardest = solver;
+                }
+            }
+        }
+        Difficulty difficulty = guesses > 0 ? Difficulty.EXPERT
+                : hardest == null ? Difficulty.EASY : Difficulty.of(hardest);
+        return new Grade(difficulty, hardest, steps, guesses, score);
+    }
+
+    /**
+     * @return how hard a step of the solver is for a person
+     */
+    private static int weight(Solvers solver) {
+        return switch (solver) {
+            case SINGLE_POSS_IN_GROUP -> 1;
+            case BLOCK_LINE_INTERSECTION -> 2;
+            case NAKED_AND_HIDDEN_SUBSETS -> 3;
+            case X_WING -> 5;
+            case XY_WING -> 6;
+            case SWORDFISH -> 8;
+            case XYZ_WING -> 8;
+            case JELLYFISH -> 10;
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Candidates;
+import ca.dauqui.sodokusolver.game.Cell;
+import ca.dauqui.sodokusolver.game.Group;
+
+/**
+ * This solver finds n cells of a group that together contain exactly n numbers, for n from 2 to 4
+ * <p>
+ * Naked subset: the n cells can only contain those n numbers, so the numbers are removed from all other cells
+ * ex.: cells 45, 45, 4567 gives 45, 45, 67
+ * <p>
+ * Hidden subset: the n numbers can only be in those n cells, so all other numbers are removed from those cells
+ * ex.:
+ * cells    0     1     2    3   4    5    6   7   8
+ * values   4567  4567  678  12  236  789  38  189 1289
+ * results  45    45    678  12  236  789  38  189 1289
+ * <p>
+ * The subsets are enumerated as bit masks of the same size, so no collection is built.
+ * A naked subset of n cells among m open cells is also a hidden subset of the m - n other cells,
+ * so looking at subsets of up to m / 2 cells or numbers finds them all.
+ */
+public class NakedAndHiddenSubsets extends SingleGroupSolver {
+    /**
+     * the largest subset looked for, half the size of a group of the standard grid
+     * larger grids could have larger subsets, but they are rare and costly to enumerate
+     */
+    private static final int MAX_SIZE = 4;
+
+    @Override
+    protected boolean doGroup(Group group) {
+        int openCells = 0;
+        int placedValues = 0;
+        for (int pos = 0; pos < group.getSize(); pos++) {
+            Cell cell = group.getCell(pos);
+            if (cell.isChosen()) {
+                placedValues |= cell.getPossibilities();
+            } else {
+                openCells |= 1 << pos;
+            }
+        }
+        int openValues = (Candidates.of(group.getSize() + 1) - 1) & ~placedValues;
+        int[] positions = group.getPositionsByValue();
+        for (int values = openValues; values != 0; values &= values - 1) {
+            if (positions[Integer.numberOfTrailingZeros(values)] == 0) {
+                // a value not chosen yet has no place left in the group
+                return contradict(group);
+            }
+        }
+        int maxSize = Math.min(MAX_SIZE, Candidates.count(openCells) / 2);
+
+        boolean changed = false;
+        for (int size = 2; size <= maxSize; size++) {
+            changed |= nakedSubsets(group, openCells, size);
+            changed |= hiddenSubsets(group, openCells, openValues, size);
+        }
+        return changed;
+    }
+
+    /**
+     * finds the sets of cells whose possible values are exactly as many as the cells
+     * @param group the group to treat
+     * @param openCells the positions of the cells without a chosen value
+     * @param size the number of cells in a set
+     * @return whether this call changed the grid
+     */
+    private static boolean nakedSubsets(Group group, int openCells, int size) {
+        boolean changed = false;
+        int count = Candidates.count(openCells);
+        for (int combination = Combinations.first(size); combination < 1 << count;
+             combination = Combinations.next(combination)) {
+            int cells = Integer.expand(combination, openCells);
+            int values = 0;
+            for (int remaining = cells; remaining != 0; remaining &= remaining - 1) {
+                values |= group.getCell(Integer.numberOfTrailingZeros(remaining)).getPossibilities();
+            }
+            if (Candidates.count(values) == size) {
+                for (int others = openCells & ~cells; others != 0; others &= others - 1) {
+                    changed |= group.getCell(Integer.numberOfTrailingZeros(others)).removePossibilities(values);
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * finds the sets of values whose possible positions are exactly as many as the values
+     * @param group the group to treat
+     * @param openCells the positions of the cells without a chosen value
+     * @param openValues the values not chosen yet in the group
+     * @param size the number of values in a set
+     * @return whether this call changed the grid
+     */
+    private static boolean hiddenSubsets(Group group, int openCells, int openValues, int size) {
+        boolean changed = false;
+        int[] positions = group.getPositionsByValue();
+        int count = Candidates.count(openValues);
+        for (int combination = Combinations.first(size); combination < 1 << count;
+             combination = Combinations.next(combination)) {
+            int values = Integer.expand(combination, openValues);
+            int cells = 0;
+            for (int remaining = values; remaining != 0; remaining &= remaining - 1) {
+                cells |= positions[Integer.numberOfTrailingZeros(remaining)];
+            }
+            cells &= openCells;
+            if (Candidates.count(cells) < size) {
+                // the values cannot all be placed
+                return contradict(group) | changed;
+            }
+            if (Candidates.count(cells) == size) {
+                for (int remaining = cells; remaining != 0; remaining &= remaining - 1) {
+                    changed |= group.getCell(Integer.numberOfTrailingZeros(remaining)).keepPossibilities(values);
+                }
+            }
+        }
+        return changed;
+    }
+}
\ No newline at end of file
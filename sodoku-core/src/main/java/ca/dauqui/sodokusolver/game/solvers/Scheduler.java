@@ -0,0 +1,207 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.Group;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+import ca.dauqui.sodokusolver.game.SolveLog;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides in which order the solvers are run by {@link Solvers#propagate(Grid)} and records their statistics
+ * <p>
+ * The group solvers run first, on the groups that changed. The whole grid solvers are then tried one at a time
+ * until one of them changes the grid, going back to the group solvers after each change.
+ * <p>
+ * The whole grid solvers are tried by decreasing number of eliminations per nanosecond, measured over every grid
+ * solved so far. Until a solver ran {@link #MIN_SAMPLES} times its measure is not trusted and the cost order of
+ * {@link Solvers} is kept, so a batch starts in that order and learns its own as it goes.
+ * <p>
+ * The propagation stops as soon as the grid has a contradiction, or when the {@link SolveLimit} of the grid is reached,
+ * which is checked before each solver step.
+ * <p>
+ * When the grid has a {@link SolveLog}, each call to a solver starts a step of the log.
+ * <p>
+ * Within a propagation, a solver that found nothing is put aside until the grid lost {@link #RETRY_ELIMINATIONS}
+ * more candidates. It is still tried when every other solver is stuck, so the grid ends up the same as if every
+ * solver was tried each time.
+ */
+final class Scheduler {
+    /**
+     * on average, the order is recomputed once every that many propagations
+     */
+    private static final int REORDER_INTERVAL = 1024;
+    private static final long MIN_SAMPLES = 64;
+    private static final long RETRY_ELIMINATIONS = 8;
+
+    private static final Solvers[] GROUP_SOLVERS = Arrays.stream(Solvers.values())
+            .filter(Solvers::isGroupSolver)
+            .toArray(Solvers[]::new);
+
+    private static final Solvers[] GRID_SOLVERS = Arrays.stream(Solvers.values())
+            .filter(s -> !s.isGroupSolver())
+            .toArray(Solvers[]::new);
+
+    /**
+     * the order in which the whole grid solvers are tried, shared by all threads
+     */
+    private static volatile Solvers[] order = GRID_SOLVERS;
+
+    /**
+     * the scheduler of each thread, its arrays are reused by every propagation of the thread
+     */
+    private static final ThreadLocal<Scheduler> SCHEDULERS = ThreadLocal.withInitial(Scheduler::new);
+
+    /**
+     * the statistics of the current propagation, indexed by the ordinal of the solver
+     */
+    private final long[] invocations = new long[Solvers.values().length];
+    private final long[] nanos = new long[Solvers.values().length];
+    private final long[] eliminations = new long[Solvers.values().length];
+    /**
+     * the elimination count of the grid when each solver last found nothing, -1 if it did not fail
+     */
+    private final long[] failedAt = new long[Solvers.values().length];
+
+    private Scheduler() {}
+
+    static boolean propagate(Grid grid) {
+        if (ThreadLocalRandom.current().nextInt(REORDER_INTERVAL) == 0) {
+            reorder();
+        }
+        return SCHEDULERS.get().run(grid, GROUP_SOLVERS, order, true);
+    }
+
+    /**
+     * propagates with only some of the solvers, tried in the given order without learning anything
+     * the statistics of the solvers are left alone, so rating puzzles does not change the order of {@link #propagate(Grid)}
+     * @param grid the grid to solve
+     * @param groupSolvers the group solvers to run on the groups that changed
+     * @param gridSolvers the whole grid solvers to try, in order
+     * @return whether the call changed the grid
+     */
+    static boolean propagate(Grid grid, Solvers[] groupSolvers, Solvers[] gridSolvers) {
+        return SCHEDULERS.get().run(grid, groupSolvers, gridSolvers, false);
+    }
+
+    /**
+     * sorts the whole grid solvers by decreasing yield, the ones without enough samples first in cost order
+     */
+    static void reorder() {
+        Solvers[] sorted = GRID_SOLVERS.clone();
+        Arrays.sort(sorted, Comparator.comparingDouble(Scheduler::priority).reversed());
+        order = sorted;
+    }
+
+    private static double priority(Solvers solver) {
+        return solver.getInvocations() < MIN_SAMPLES ? Double.POSITIVE_INFINITY : solver.getYield();
+    }
+
+    /**
+     * @return the order in which the whole grid solvers are currently tried
+     */
+    static List<Solvers> getOrder() {
+        return List.of(order);
+    }
+
+    /**
+     * @param learn whether to add what the solvers did to their statistics, which the order is learned from
+     */
+    private boolean run(Grid grid, Solvers[] groupSolvers, Solvers[] solvers, boolean learn) {
+        SolveLog log = grid.getLog();
+        SolveLimit limit = grid.getLimit();
+        Arrays.fill(failedAt, -1);
+        boolean changed = false;
+        do {
+            long time = System.nanoTime();
+            for (int index = grid.pollDirtyGroup(); index >= 0 && !grid.hasContradiction() && !isReached(limit);
+                 index = grid.pollDirtyGroup()) {
+                Group group = grid.getGroup(index);
+                for (Solvers solver : groupSolvers) {
+                    if (log != null) {
+                        log.beginStep(solver.ordinal());
+                    }
+                    long before = grid.getEliminationCount();
+                    changed |= solver.runGroup(group);
+                    long now = System.nanoTime();
+                    count(solver, now - time, grid.getEliminationCount() - before);
+                    time = now;
+                }
+            }
+            if (grid.hasContradiction() || isReached(limit)) {
+                break;
+            }
+            // the solvers put aside are only tried when all the others are stuck
+            boolean progress = tryGridSolvers(grid, log, limit, solvers, false)
+                    || tryGridSolvers(grid, log, limit, solvers, true);
+            changed |= progress;
+        } while (grid.hasDirtyGroups() && !grid.hasContradiction() && !isReached(limit));
+        if (log != null) {
+            log.beginStep(SolveLog.NONE);
+        }
+
+        for (Solvers solver : Solvers.values()) {
+            int i = solver.ordinal();
+            if (invocations[i] > 0) {
+                if (learn) {
+                    solver.record(invocations[i], nanos[i], eliminations[i]);
+                }
+                invocations[i] = 0;
+                nanos[i] = 0;
+                eliminations[i] = 0;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * tries the whole grid solvers in order until one of them changes the grid
+     * @param log the log of the grid, or null
+     * @param limit the limits of the solving, or null
+     * @param putAside whether to try the solvers that were put aside or the others
+     * @return whether a solver changed the grid
+     */
+    private boolean tryGridSolvers(Grid grid, SolveLog log, SolveLimit limit, Solvers[] solvers, boolean putAside) {
+        for (Solvers solver : solvers) {
+            if (isReached(limit)) {
+                return false;
+            }
+            int i = solver.ordinal();
+            long before = grid.getEliminationCount();
+            if (isPutAside(i, before) != putAside || failedAt[i] == before) {
+                // a solver that failed on this very grid would fail again
+                continue;
+            }
+            if (log != null) {
+                log.beginStep(i);
+            }
+            long start = System.nanoTime();
+            boolean changed = solver.run(grid);
+            count(solver, System.nanoTime() - start, grid.getEliminationCount() - before);
+            if (changed) {
+                failedAt[i] = -1;
+                return true;
+            }
+            failedAt[i] = before;
+        }
+        return false;
+    }
+
+    private static boolean isReached(SolveLimit limit) {
+        return limit != null && limit.isReached();
+    }
+
+    private boolean isPutAside(int i, long eliminationCount) {
+        return failedAt[i] >= 0 && eliminationCount - failedAt[i] < RETRY_ELIMINATIONS;
+    }
+
+    private void count(Solvers solver, long time, long removed) {
+        int i = solver.ordinal();
+        invocations[i]++;
+        nanos[i] += time;
+        eliminations[i] += removed;
+    }
+}
\ No newline at end of file
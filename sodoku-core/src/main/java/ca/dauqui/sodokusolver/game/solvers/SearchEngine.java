@@ -0,0 +1,24 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+
+/**
+ * an enum that keeps a copy of each search used when the solvers cannot progress anymore
+ * so the search can be chosen for each grid to solve
+ */
+public enum SearchEngine implements Solver {
+    BACKTRACKING(new BacktrackingSolver()),
+    DANCING_LINKS(new DancingLinksSolver()),
+    ;
+
+    private final Solver solver;
+
+    SearchEngine(Solver solver) {
+        this.solver = solver;
+    }
+
+    @Override
+    public boolean solve(Grid grid) {
+        return solver.solve(grid);
+    }
+}
\ No newline at end of file
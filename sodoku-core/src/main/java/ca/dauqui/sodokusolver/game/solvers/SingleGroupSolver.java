@@ -0,0 +1,60 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Cell;
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.Group;
+
+/**
+ * This super class for solver is used for strategies that pertain to each group individually
+ * It will run the strategy on each group
+ */
+public abstract class SingleGroupSolver implements Solver {
+
+    @Override
+    public boolean solve(Grid grid) {
+        boolean changed = false;
+        for (Group group : grid.getVerticalLines()) {
+            changed |= doGroup(group);
+        }
+        for (Group group : grid.getHorizontalLines()) {
+            changed |= doGroup(group);
+        }
+        for (Group group : grid.getBlocks()) {
+            changed |= doGroup(group);
+        }
+        return changed;
+    }
+
+    /**
+     * runs the strategy on a single group, used by {@link Solvers#propagate(Grid)} on the groups that changed
+     * @param group the group on which to run the strategy
+     * @return whether this call changed the grid
+     */
+    public boolean solveGroup(Group group) {
+        return doGroup(group);
+    }
+
+    /**
+     * The strategy to run on the group
+     * @param group the group on which to run the strategy
+     * @return whether this call changed the grid
+     */
+    protected abstract boolean doGroup(Group group);
+
+    /**
+     * used when some values have fewer places left in the group than there are values, so the grid has no solution
+     * a cell of the group is emptied, an empty cell being how the grid sees a contradiction
+     * @param group the group without room for its values
+     * @return whether this call changed the grid
+     */
+    protected static boolean contradict(Group group) {
+        for (int pos = 0; pos < group.getSize(); pos++) {
+            Cell cell = group.getCell(pos);
+            if (!cell.isChosen()) {
+                return cell.keepPossibilities(0);
+            }
+        }
+        // every cell is chosen, so two of them share a value
+        return group.getCell(0).keepPossibilities(0);
+    }
+}
\ No newline at end of file
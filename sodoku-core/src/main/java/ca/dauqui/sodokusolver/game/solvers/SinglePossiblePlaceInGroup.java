@@ -1,12 +1,9 @@
 package ca.dauqui.sodokusolver.game.solvers;
 
+import ca.dauqui.sodokusolver.game.Candidates;
 import ca.dauqui.sodokusolver.game.Cell;
 import ca.dauqui.sodokusolver.game.Group;
 
-import java.util.Set;
-
-import static ca.dauqui.sodokusolver.game.solvers.Util.sortCellsByNumbers;
-
 /**
  * This solver simply finds each value that can only be placed in a single cell in a group and set that value in the cell
  */
@@ -19,15 +16,17 @@ public class SinglePossiblePlaceInGroup extends SingleGroupSolver {
     @Override
     protected boolean doGroup(Group group) {
         boolean changed = false;
-        Set<Cell>[] numbers = sortCellsByNumbers(group);
+        int[] positions = group.getPositionsByValue();
 
-        for (int i = 0; i < 9; i++) {
-            Set<Cell> cells = numbers[i];
-            if (cells.size() == 1){
-                for (Cell cell : cells){
-                    if (!cell.isChosenProperty().get()) {
-                        changed |= cell.setCellValue(i + 1, false);
-                    }
+        for (int i = 0; i < group.getSize(); i++) {
+            if (positions[i] == 0) {
+                // the value has no place left in the group
+                return contradict(group) | changed;
+            }
+            if (Candidates.count(positions[i]) == 1){
+                Cell cell = group.getCell(Integer.numberOfTrailingZeros(positions[i]));
+                if (!cell.isChosen()) {
+                    changed |= cell.setCellValue(i + 1, false);
                 }
             }
         }
@@ -0,0 +1,44 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+
+/**
+ * Counts the solutions of a grid, mainly to check that a puzzle has exactly one
+ * The grid is only read: its candidates are loaded in an exact cover matrix (see {@link DancingLinksSolver})
+ * and the search stops as soon as the limit is reached, so no listener of the grid is ever called
+ * <p>
+ * Each row tried counts as a node of the {@link SolveLimit} of the grid, like in
+ * a search, and the count is {@link #UNKNOWN} if that limit stops it before the count is known.
+ */
+public final class SolutionCounter {
+    /**
+     * the count of a grid whose limit was reached before its solutions were counted
+     */
+    public static final int UNKNOWN = -1;
+
+    private static final DancingLinksSolver COUNTER = new DancingLinksSolver();
+
+    private SolutionCounter() {}
+
+    /**
+     * @param grid the grid to look into, it is not changed
+     * @param limit the count at which the search stops, typically 2
+     * @return the number of solutions of the grid, the limit if there are at least that many,
+     * or {@link #UNKNOWN} if the limit of the grid was reached first
+     */
+    public static int countSolutions(Grid grid, int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        return COUNTER.countSolutions(grid, limit);
+    }
+
+    /**
+     * @param grid the grid to look into, it is not changed
+     * @return whether the grid has exactly one solution, false if the limit of the grid was reached first
+     */
+    public static boolean hasUniqueSolution(Grid grid) {
+        return countSolutions(grid, 2) == 1;
+    }
+}
\ No newline at end of file
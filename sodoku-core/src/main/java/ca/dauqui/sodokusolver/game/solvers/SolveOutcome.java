@@ -0,0 +1,23 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+
+/**
+ * The outcome of a solving within a {@link SolveLimit}, see {@link Solvers#solveWithin(Grid, SearchEngine, SolveLimit)}
+ */
+public enum SolveOutcome {
+    /**
+     * the grid holds the solution
+     */
+    SOLVED,
+    /**
+     * the puzzle has no solution, the grid is left as the solvers found it
+     */
+    NO_SOLUTION,
+    /**
+     * a limit was reached first, see {@link SolveLimit#getReason()}
+     * the grid keeps the values found by the solvers, it is a partial result that can still be solved later
+     */
+    STOPPED,
+}
\ No newline at end of file
@@ -5,6 +5,9 @@ import ca.dauqui.sodokusolver.game.Grid;
 /**
  * Interface of a solver
  * this represents a strategy to be able to choose or remove numbers from cells
+ * <p>
+ * A solver must not keep any state between calls: everything it works on is in the grid
+ * This way a single instance (see {@link Solvers}) can be used by many threads at the same time, each with its own grid
  */
 public interface Solver {
     /**
@@ -0,0 +1,175 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.Group;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * an enum that keeps a copy of each solver to be easily accessible
+ * The solvers are ordered by cost, the cheap ones first, and each one keeps how often it ran,
+ * how long it took and how many candidates it removed
+ */
+public enum Solvers implements Solver{
+    SINGLE_POSS_IN_GROUP(new SinglePossiblePlaceInGroup()),
+    BLOCK_LINE_INTERSECTION(new BlockAndLineIntersection()),
+    NAKED_AND_HIDDEN_SUBSETS(new NakedAndHiddenSubsets()),
+    X_WING(new Fish(2)),
+    XY_WING(new XYWing()),
+    SWORDFISH(new Fish(3)),
+    XYZ_WING(new XYZWing()),
+    JELLYFISH(new Fish(4)),
+    ;
+
+    private final Solver solver;
+
+    /**
+     * the statistics of this solver in all grids, the eliminations include the ones that followed from them
+     */
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder eliminations = new LongAdder();
+
+    Solvers(Solver solver) {
+        this.solver = solver;
+    }
+
+    @Override
+    public boolean solve(Grid grid) {
+        long before = grid.getEliminationCount();
+        long start = System.nanoTime();
+        boolean changed = solver.solve(grid);
+        record(1, System.nanoTime() - start, grid.getEliminationCount() - before);
+        return changed;
+    }
+
+    /**
+     * runs the solver on the whole grid without recording anything, the caller records the statistics
+     */
+    boolean run(Grid grid) {
+        return solver.solve(grid);
+    }
+
+    /**
+     * @return whether the solver looks at one group at a time
+     */
+    boolean isGroupSolver() {
+        return solver instanceof SingleGroupSolver;
+    }
+
+    /**
+     * runs a group solver on a single group without recording anything, the caller records the statistics
+     */
+    boolean runGroup(Group group) {
+        return ((SingleGroupSolver) solver).solveGroup(group);
+    }
+
+    /**
+     * adds to the statistics of this solver
+     */
+    void record(long invocations, long nanos, long eliminations) {
+        this.invocations.add(invocations);
+        this.nanos.add(nanos);
+        this.eliminations.add(eliminations);
+    }
+
+    /**
+     * @return the number of times this solver was run since the program started
+     */
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    /**
+     * @return the time spent in this solver since the program started, in nanoseconds
+     */
+    public long getNanos() {
+        return nanos.sum();
+    }
+
+    /**
+     * @return the number of candidates removed by this solver since the program started
+     */
+    public long getEliminations() {
+        return eliminations.sum();
+    }
+
+    /**
+     * @return the number of candidates removed by nanosecond spent in this solver, 0 if it never ran
+     */
+    public double getYield() {
+        long time = getNanos();
+        return time == 0 ? 0 : (double) getEliminations() / time;
+    }
+
+    /**
+     * runs each solver iteratively until no more changes is made to the grid
+     * Only the groups that changed since they were last looked at are given to the group solvers,
+     * then the whole grid solvers are tried in the order learned by the {@link Scheduler}
+     * @param grid the grid to solve
+     * @return whether the call changed the grid
+     */
+    public static boolean propagate(Grid grid) {
+        return Scheduler.propagate(grid);
+    }
+
+    /**
+     * @return the order in which {@link #propagate(Grid)} currently tries the whole grid solvers
+     */
+    public static List<Solvers> getGridSolverOrder() {
+        return Scheduler.getOrder();
+    }
+
+    /**
+     * runs the solvers until they cannot progress anymore, then searches for the rest of the solution
+     * @param grid the grid to solve
+     * @return whether the call changed the grid
+     */
+    public static boolean solveAll(Grid grid) {
+        return solveAll(grid, SearchEngine.BACKTRACKING);
+    }
+
+    /**
+     * runs the solvers until they cannot progress anymore, then searches for the rest of the solution
+     * nothing is searched if the solvers found a contradiction
+     * @param grid the grid to solve
+     * @param engine the search to use once the solvers cannot progress anymore
+     * @return whether the call changed the grid
+     */
+    public static boolean solveAll(Grid grid, SearchEngine engine) {
+        boolean changed = propagate(grid);
+        if (!grid.isResolved() && !grid.hasContradiction()) {
+            changed |= engine.solve(grid);
+        }
+        return changed;
+    }
+
+    /**
+     * solves the grid like {@link #solveAll(Grid, SearchEngine)}, giving up once a limit is reached
+     * the limit is attached to the grid for the time of the call
+     * @param grid the grid to solve
+     * @param engine the search to use once the solvers cannot progress anymore
+     * @param limit the deadline, node budget and cancellation of this solving, used for this call only,
+     * or null for no limit
+     * @return whether the grid was solved, has no solution or was left partly solved
+     */
+    public static SolveOutcome solveWithin(Grid grid, SearchEngine engine, SolveLimit limit) {
+        SolveLimit previous = grid.getLimit();
+        grid.setLimit(limit);
+        try {
+            solveAll(grid, engine);
+        } finally {
+            grid.setLimit(previous);
+        }
+        // stopping never leaves a contradiction, the searches undo their guesses
+        if (grid.hasContradiction()) {
+            return SolveOutcome.NO_SOLUTION;
+        }
+        if (grid.isResolved()) {
+            return grid.isConsistent() ? SolveOutcome.SOLVED : SolveOutcome.NO_SOLUTION;
+        }
+        return limit != null && limit.getReason() != null ? SolveOutcome.STOPPED : SolveOutcome.NO_SOLUTION;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Candidates;
+import ca.dauqui.sodokusolver.game.Cell;
+import ca.dauqui.sodokusolver.game.Grid;
+
+/**
+ * This solver finds a cell with 2 possible values xy seeing a cell xz and a cell yz
+ * Whichever value the first cell takes, one of the 2 other cells is z,
+ * so z is removed from every cell seeing both of them
+ * ex.:
+ * pivot 12, pincers 13 and 23
+ * result 3 is removed from the cells seeing both 13 and 23
+ */
+public class XYWing implements Solver {
+
+    @Override
+    public boolean solve(Grid grid) {
+        boolean changed = false;
+        int cellCount = grid.getCellCount();
+        for (int index = 0; index < cellCount; index++) {
+            Cell pivot = grid.getCell(index);
+            int xy = pivot.getPossibilities();
+            if (Candidates.count(xy) != 2) {
+                continue;
+            }
+            // the pincers are peers of the pivot
+            int[] peers = grid.getPeers(index);
+            for (int i : peers) {
+                int xz = grid.getCandidates(i);
+                if (Candidates.count(xz) != 2 || Candidates.count(xz & xy) != 1) {
+                    continue;
+                }
+                Cell first = grid.getCell(i);
+                int z = xz & ~xy;
+                int yz = (xy & ~xz) | z;
+                for (int j : peers) {
+                    if (grid.getCandidates(j) == yz) {
+                        changed |= removeFromCellsSeeing(grid, z, first, grid.getCell(j));
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * removes values from every cell seeing all the given cells
+     * @param grid the grid to change
+     * @param values the values to remove
+     * @param seen the cells that must be seen
+     * @return whether this call changed the grid
+     */
+    static boolean removeFromCellsSeeing(Grid grid, int values, Cell... seen) {
+        boolean changed = false;
+        // a cell seeing all of them is a peer of the first one
+        for (int index : grid.getPeers(seen[0].getIndex())) {
+            if ((grid.getCandidates(index) & values) == 0) {
+                continue;
+            }
+            Cell cell = grid.getCell(index);
+            if (cell.isChosen()) {
+                continue;
+            }
+            boolean seesAll = true;
+            for (Cell other : seen) {
+                seesAll &= cell.sees(other);
+            }
+            if (seesAll) {
+                changed |= cell.removePossibilities(values);
+            }
+        }
+        return changed;
+    }
+}
\ No newline at end of file
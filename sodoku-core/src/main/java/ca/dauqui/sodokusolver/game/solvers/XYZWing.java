@@ -0,0 +1,46 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Candidates;
+import ca.dauqui.sodokusolver.game.Cell;
+import ca.dauqui.sodokusolver.game.Grid;
+
+/**
+ * This solver finds a cell with 3 possible values xyz seeing a cell xz and a cell yz
+ * Whichever value the first cell takes, one of the 3 cells is z,
+ * so z is removed from every cell seeing all 3 of them
+ * ex.:
+ * pivot 123, pincers 13 and 23
+ * result 3 is removed from the cells seeing 123, 13 and 23
+ */
+public class XYZWing implements Solver {
+
+    @Override
+    public boolean solve(Grid grid) {
+        boolean changed = false;
+        int cellCount = grid.getCellCount();
+        for (int index = 0; index < cellCount; index++) {
+            Cell pivot = grid.getCell(index);
+            int xyz = pivot.getPossibilities();
+            if (Candidates.count(xyz) != 3) {
+                continue;
+            }
+            // the pincers are peers of the pivot
+            int[] peers = grid.getPeers(index);
+            for (int i = 0; i < peers.length; i++) {
+                int xz = grid.getCandidates(peers[i]);
+                if (Candidates.count(xz) != 2 || (xz & ~xyz) != 0) {
+                    continue;
+                }
+                Cell first = grid.getCell(peers[i]);
+                // the second pincer comes after the first so each pair is only looked at once
+                for (int j = i + 1; j < peers.length; j++) {
+                    int yz = grid.getCandidates(peers[j]);
+                    if (Candidates.count(yz) == 2 && (xz | yz) == xyz && xz != yz) {
+                        changed |= XYWing.removeFromCellsSeeing(grid, xz & yz, pivot, first, grid.getCell(peers[j]));
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,215 @@
+package ca.dauqui.sodokusolver.generator;
+
+import ca.dauqui.sodokusolver.game.Candidates;
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.solvers.Difficulty;
+import ca.dauqui.sodokusolver.game.solvers.SolutionCounter;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates puzzles with a unique solution
+ * A random full grid is built first, then its values are removed one at a time in a random order,
+ * each removal that gives the puzzle more than one solution being put back.
+ * Since the full grid is a solution, a removal keeps the puzzle unique when no solution has another value in
+ * that cell, which only needs a search for one solution instead of two.
+ * The result is minimal: no given can be removed without losing the uniqueness.
+ * <p>
+ * All the randomness comes from the given random generator, so the same seed always gives the same puzzles.
+ * A generator reuses its grid and arrays, so it must be confined to a thread.
+ * <p>
+ * A generator makes puzzles of a single size, the standard one by default. The 25x25 puzzles are not supported:
+ * the search checking each removal makes a single one take minutes.
+ * <p>
+ * Not every difficulty comes at every size: none of 20000 minimal 4x4 puzzles needed more than the singles and
+ * none of 30 minimal 16x16 ones could be solved without a search, see PuzzleGeneratorTest.
+ * Those difficulties are refused up front, a 16x16 puzzle taking about a second, and the search for any other one
+ * gives up after {@link #MAX_ATTEMPTS} puzzles instead of running forever.
+ */
+public class PuzzleGenerator {
+    /**
+     * the largest block size of the puzzles generated
+     */
+    public static final int MAX_BLOCK_SIZE = 4;
+    /**
+     * the puzzles generated while looking for a difficulty before giving up,
+     * the rarest standard difficulty comes about once in twenty puzzles
+     */
+    public static final int MAX_ATTEMPTS = 1000;
+
+    private final Grid grid;
+    /**
+     * the values of the last puzzle, 0 for an empty cell, indexed like the cells of the grid
+     */
+    private final int[] puzzle;
+    /**
+     * the order in which the givens are removed
+     */
+    private final int[] order;
+    private Difficulty difficulty;
+
+    /**
+     * creates a generator of standard 9x9 puzzles
+     */
+    public PuzzleGenerator() {
+        this(Grid.BLOCK_SIZE);
+    }
+
+    /**
+     * @param blockSize the block size of the puzzles, from {@link Grid#MIN_BLOCK_SIZE} to {@link #MAX_BLOCK_SIZE}
+     */
+    public PuzzleGenerator(int blockSize) {
+        if (blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("blockSize must be at most " + MAX_BLOCK_SIZE + ": " + blockSize);
+        }
+        grid = new Grid(blockSize);
+        puzzle = new int[grid.getCellCount()];
+        order = new int[grid.getCellCount()];
+    }
+
+    /**
+     * generates a puzzle of any difficulty
+     * @param random the source of randomness
+     * @return the values of the puzzle, 0 for an empty cell, the array is reused by the next call
+     */
+    public int[] generate(RandomGenerator random) {
+        grid.reset();
+        fill(random);
+        for (int index = 0; index < puzzle.length; index++) {
+            puzzle[index] = grid.getCell(index).getValue();
+            order[index] = index;
+        }
+        shuffle(random);
+
+        for (int index : order) {
+            int value = puzzle[index];
+            puzzle[index] = 0;
+            load();
+            grid.getCell(index).removeCellValue(value);
+            if (SolutionCounter.countSolutions(grid, 1) > 0) {
+                puzzle[index] = value;
+            }
+        }
+
+        load();
+        difficulty = Difficulty.rate(grid);
+        return puzzle;
+    }
+
+    /**
+     * generates puzzles until one has the wanted difficulty, giving up after {@link #MAX_ATTEMPTS} puzzles
+     * @param random the source of randomness
+     * @param wanted the difficulty of the puzzle
+     * @return the values of the puzzle, 0 for an empty cell, the array is reused by the next call
+     * @throws IllegalArgumentException if the puzzles of that size never have that difficulty
+     * @throws IllegalStateException if no puzzle had that difficulty
+     */
+    public int[] generate(RandomGenerator random, Difficulty wanted) {
+        return generate(random, wanted, MAX_ATTEMPTS);
+    }
+
+    /**
+     * generates puzzles until one has the wanted difficulty
+     * @param random the source of randomness
+     * @param wanted the difficulty of the puzzle
+     * @param maxAttempts the number of puzzles generated before giving up
+     * @return the values of the puzzle, 0 for an empty cell, the array is reused by the next call
+     * @throws IllegalArgumentException if the puzzles of that size never have that difficulty
+     * @throws IllegalStateException if none of the puzzles had that difficulty
+     */
+    public int[] generate(RandomGenerator random, Difficulty wanted, int maxAttempts) {
+        if (!canGenerate(grid.getBlockSize(), wanted)) {
+            throw new IllegalArgumentException("the " + grid.getSize() + "x" + grid.getSize()
+                    + " puzzles are never " + wanted);
+        }
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            generate(random);
+            if (difficulty == wanted) {
+                return puzzle;
+            }
+        }
+        throw new IllegalStateException("no " + wanted + " puzzle in " + maxAttempts + " attempts");
+    }
+
+    /**
+     * @param blockSize the block size of the puzzles
+     * @param wanted a difficulty
+     * @return whether the generated puzzles of that size can have that difficulty
+     */
+    public static boolean canGenerate(int blockSize, Difficulty wanted) {
+        return switch (blockSize) {
+            // the singles resolve every minimal 4x4 puzzle generated so far
+            case 2 -> wanted == Difficulty.EASY;
+            // no minimal 16x16 puzzle generated so far was solved without a search
+            case 4 -> wanted == Difficulty.EXPERT;
+            default -> true;
+        };
+    }
+
+    /**
+     * @return the difficulty of the last puzzle generated
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * loads the givens of the puzzle in the grid
+     */
+    private void load() {
+        grid.loadGivens(puzzle);
+    }
+
+    /**
+     * chooses a random value for each cell, the cell with the fewest possible values first,
+     * going back when a cell has no value left
+     * @return whether the grid could be filled, always true from an empty grid
+     */
+    private boolean fill(RandomGenerator random) {
+        int index = chooseCell();
+        if (index < 0) {
+            return true;
+        }
+        int values = grid.getCandidates(index);
+        int mark = grid.mark();
+        for (int count = Candidates.count(values); count > 0; count--) {
+            // the nth possible value, in a random order
+            int value = Candidates.first(Integer.expand(1 << random.nextInt(count), values));
+            values &= ~Candidates.of(value);
+            grid.getCell(index).setCellValue(value, false);
+            if (!grid.hasContradiction() && fill(random)) {
+                return true;
+            }
+            grid.undo(mark);
+        }
+        return false;
+    }
+
+    /**
+     * @return the unchosen cell with the fewest possible values, or -1 if every cell is chosen
+     */
+    private int chooseCell() {
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int index = 0; index < puzzle.length; index++) {
+            int count = Candidates.count(grid.getCandidates(index));
+            if (count > 1 && count < bestCount) {
+                best = index;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Fisher-Yates shuffle of the removal order
+     */
+    private void shuffle(RandomGenerator random) {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swapped = order[i];
+            order[i] = order[j];
+            order[j] = swapped;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+module SodokuSolver.core {
+    exports ca.dauqui.sodokusolver.batch;
+    exports ca.dauqui.sodokusolver.cache;
+    exports ca.dauqui.sodokusolver.game;
+    exports ca.dauqui.sodokusolver.game.solvers;
+    exports ca.dauqui.sodokusolver.generator;
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package ca.dauqui.sodokusolver.batch;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.TestPuzzles;
+import ca.dauqui.sodokusolver.game.solvers.Solvers;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleFormatTest {
+    private static final String PUZZLE = TestPuzzles.read("hard").getFirst();
+
+    @Test
+    void theLengthGivesTheBlockSize() {
+        assertEquals(2, PuzzleFormat.blockSizeOf(16));
+        assertEquals(3, PuzzleFormat.blockSizeOf(81));
+        assertEquals(4, PuzzleFormat.blockSizeOf(256));
+        assertEquals(5, PuzzleFormat.blockSizeOf(625));
+        assertEquals(0, PuzzleFormat.blockSizeOf(80));
+        assertEquals(0, PuzzleFormat.blockSizeOf(0));
+    }
+
+    @Test
+    void acceptsDotsAndZerosForTheEmptyCells() {
+        Grid dots = new Grid();
+        Grid zeros = new Grid();
+        assertTrue(load(dots, PUZZLE));
+        assertTrue(load(zeros, PUZZLE.replace('.', '0')));
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            assertEquals(dots.getCandidates(index), zeros.getCandidates(index));
+            char c = PUZZLE.charAt(index);
+            assertEquals(c != '.', dots.getCell(index % Grid.SIZE, index / Grid.SIZE).isSet());
+            if (c != '.') {
+                assertEquals(c - '0', dots.getCell(index % Grid.SIZE, index / Grid.SIZE).getValue());
+            }
+        }
+    }
+
+    @Test
+    void acceptsLettersForTheLargerValues() {
+        String puzzle = TestPuzzles.read("16x16").getFirst();
+        Grid upper = new Grid(4);
+        Grid lower = new Grid(4);
+        assertTrue(load(upper, puzzle));
+        assertTrue(load(lower, puzzle.toLowerCase()));
+        assertArrayEquals(upper.copyCandidates(), lower.copyCandidates());
+        assertEquals(16, upper.getCell(puzzle.indexOf('G')).getValue());
+    }
+
+    @Test
+    void rejectsALineOfAnotherLength() {
+        assertFalse(load(new Grid(), PUZZLE.substring(1)));
+        assertFalse(load(new Grid(), PUZZLE + "."));
+        assertFalse(load(new Grid(4), PUZZLE));
+    }
+
+    @Test
+    void rejectsACharacterThatIsNotAValue() {
+        assertFalse(load(new Grid(), "x" + PUZZLE.substring(1)));
+        assertFalse(load(new Grid(), " " + PUZZLE.substring(1)));
+        // 10 does not fit in a standard grid
+        assertFalse(load(new Grid(), "A" + PUZZLE.substring(1)));
+    }
+
+    @Test
+    void rejectsGivensThatContradictEachOther() {
+        assertFalse(load(new Grid(), "11" + ".".repeat(Grid.CELL_COUNT - 2)));
+        // the last cell of the first line has no value left
+        String line = "12345678." + ".".repeat(Grid.CELL_COUNT - 10) + "9";
+        assertFalse(load(new Grid(), line));
+    }
+
+    @Test
+    void aRejectedLineDoesNotPreventTheNextLoad() {
+        Grid grid = new Grid();
+        assertFalse(load(grid, "11" + ".".repeat(Grid.CELL_COUNT - 2)));
+        assertTrue(load(grid, PUZZLE));
+        assertFalse(grid.hasContradiction());
+    }
+
+    @Test
+    void writesTheChosenValues() {
+        Grid grid = new Grid();
+        byte[] line = new byte[Grid.CELL_COUNT + 2];
+        PuzzleFormat.write(grid, line, 1);
+        assertEquals(".".repeat(Grid.CELL_COUNT), new String(line, 1, Grid.CELL_COUNT, StandardCharsets.US_ASCII));
+
+        // the easy puzzles are solved by the solvers alone
+        assertTrue(load(grid, TestPuzzles.read("easy").getFirst()));
+        Solvers.solveAll(grid);
+        PuzzleFormat.write(grid, line, 1);
+        int[] values = TestPuzzles.values(grid);
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            assertEquals('0' + values[index], line[1 + index]);
+        }
+        assertEquals(0, line[0]);
+        assertEquals(0, line[Grid.CELL_COUNT + 1]);
+    }
+
+    private static boolean load(Grid grid, String puzzle) {
+        byte[] line = puzzle.getBytes(StandardCharsets.US_ASCII);
+        return PuzzleFormat.load(grid, line, 0, line.length);
+    }
+}
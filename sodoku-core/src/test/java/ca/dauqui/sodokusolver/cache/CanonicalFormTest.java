@@ -0,0 +1,145 @@
+package ca.dauqui.sodokusolver.cache;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.TestPuzzles;
+import ca.dauqui.sodokusolver.game.solvers.Solvers;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CanonicalFormTest {
+    /**
+     * one of each symmetry kept by the canonical form, the givens indexed line by line
+     */
+    private static final List<UnaryOperator<int[]>> SYMMETRIES = List.of(
+            CanonicalFormTest::transpose,
+            givens -> swapLines(givens, 0, 2 * Grid.BLOCK_SIZE, Grid.BLOCK_SIZE),
+            givens -> swapLines(givens, 3, 5, 1),
+            givens -> transpose(swapLines(transpose(givens), 0, Grid.BLOCK_SIZE, Grid.BLOCK_SIZE)),
+            givens -> transpose(swapLines(transpose(givens), 7, 8, 1)),
+            CanonicalFormTest::relabel);
+
+    @Test
+    void everySymmetryGivesTheSameForm() {
+        for (String name : List.of("medium", "hard", "pathological")) {
+            for (String puzzle : TestPuzzles.read(name)) {
+                int[] givens = TestPuzzles.givens(puzzle);
+                String key = CanonicalForm.of(givens).getKey();
+                for (UnaryOperator<int[]> symmetry : SYMMETRIES) {
+                    assertEquals(key, CanonicalForm.of(symmetry.apply(givens)).getKey(), puzzle);
+                }
+            }
+        }
+    }
+
+    @Test
+    void randomSymmetriesGiveTheSameForm() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (String puzzle : TestPuzzles.read("hard")) {
+            int[] givens = TestPuzzles.givens(puzzle);
+            String key = CanonicalForm.of(givens).getKey();
+            int[] transformed = givens;
+            for (int step = 0; step < 20; step++) {
+                transformed = SYMMETRIES.get(random.nextInt(SYMMETRIES.size())).apply(transformed);
+            }
+            assertEquals(key, CanonicalForm.of(transformed).getKey(), puzzle);
+        }
+    }
+
+    @Test
+    void differentPuzzlesHaveDifferentForms() {
+        List<String> puzzles = TestPuzzles.read("hard");
+        int[] first = TestPuzzles.givens(puzzles.get(0));
+        int[] second = TestPuzzles.givens(puzzles.get(1));
+        assertNotEquals(CanonicalForm.of(first).getKey(), CanonicalForm.of(second).getKey());
+    }
+
+    @Test
+    void theTransformMapsTheGivensToTheKey() {
+        for (String puzzle : TestPuzzles.read("hard")) {
+            int[] givens = TestPuzzles.givens(puzzle);
+            CanonicalForm form = CanonicalForm.of(givens);
+            StringBuilder mapped = new StringBuilder();
+            for (int value : form.toCanonical(givens)) {
+                mapped.append(value);
+            }
+            assertEquals(form.getKey(), mapped.toString());
+        }
+    }
+
+    @Test
+    void aSolutionMapsBackThroughTheInverse() {
+        String puzzle = TestPuzzles.read("hard").getFirst();
+        Grid grid = TestPuzzles.load(puzzle);
+        CanonicalForm form = CanonicalForm.of(grid);
+        Solvers.solveAll(grid);
+        int[] solution = TestPuzzles.values(grid);
+        assertArrayEquals(solution, form.fromCanonical(form.toCanonical(solution)));
+
+        // the solution of a symmetric puzzle comes back from the same canonical solution
+        int[] transposed = transpose(TestPuzzles.givens(puzzle));
+        CanonicalForm other = CanonicalForm.of(transposed);
+        assertArrayEquals(transpose(solution), other.fromCanonical(form.toCanonical(solution)));
+    }
+
+    @Test
+    void sparsePuzzlesHaveNoForm() {
+        assertNull(CanonicalForm.of(new int[Grid.CELL_COUNT]));
+        int[] givens = TestPuzzles.givens(TestPuzzles.read("hard").getFirst());
+        int count = 0;
+        for (int index = 0; index < givens.length; index++) {
+            if (givens[index] != 0 && ++count >= CanonicalForm.MIN_GIVENS) {
+                givens[index] = 0;
+            }
+        }
+        assertNull(CanonicalForm.of(givens));
+        assertNotNull(CanonicalForm.of(TestPuzzles.givens(TestPuzzles.read("hard").getFirst())));
+    }
+
+    private static int[] transpose(int[] givens) {
+        int[] transposed = new int[Grid.CELL_COUNT];
+        for (int line = 0; line < Grid.SIZE; line++) {
+            for (int column = 0; column < Grid.SIZE; column++) {
+                transposed[indexOf(line, column)] = givens[indexOf(column, line)];
+            }
+        }
+        return transposed;
+    }
+
+    /**
+     * swaps some consecutive lines with others, a band with another or two lines of a band
+     */
+    private static int[] swapLines(int[] givens, int first, int second, int count) {
+        int[] swapped = givens.clone();
+        for (int i = 0; i < count; i++) {
+            for (int column = 0; column < Grid.SIZE; column++) {
+                swapped[indexOf(column, first + i)] = givens[indexOf(column, second + i)];
+                swapped[indexOf(column, second + i)] = givens[indexOf(column, first + i)];
+            }
+        }
+        return swapped;
+    }
+
+    /**
+     * exchanges each digit d with 10 - d
+     */
+    private static int[] relabel(int[] givens) {
+        int[] relabeled = new int[Grid.CELL_COUNT];
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            relabeled[index] = givens[index] == 0 ? 0 : Grid.SIZE + 1 - givens[index];
+        }
+        return relabeled;
+    }
+
+    private static int indexOf(int x, int y) {
+        return y * Grid.SIZE + x;
+    }
+}
\ No newline at end of file
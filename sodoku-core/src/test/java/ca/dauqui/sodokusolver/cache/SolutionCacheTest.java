@@ -0,0 +1,155 @@
+package ca.dauqui.sodokusolver.cache;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.TestPuzzles;
+import ca.dauqui.sodokusolver.game.solvers.Solvers;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SolutionCacheTest {
+
+    @Test
+    void aSymmetricPuzzleFindsItsOwnSolution() {
+        String puzzle = TestPuzzles.read("hard").getFirst();
+        SolutionCache cache = new SolutionCache(4);
+        cache.put(TestPuzzles.givens(puzzle), solve(puzzle));
+
+        // the same puzzle with each digit d exchanged with 10 - d
+        StringBuilder relabeled = new StringBuilder();
+        for (char c : puzzle.toCharArray()) {
+            relabeled.append(Character.isDigit(c) && c != '0' ? (char) ('0' + Grid.SIZE + 1 - (c - '0')) : c);
+        }
+        assertArrayEquals(solve(relabeled.toString()), cache.get(TestPuzzles.givens(relabeled.toString())));
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        // the forms of both puzzles
+        assertEquals(2, cache.getForms());
+    }
+
+    @Test
+    void theSamePuzzleIsFoundWithoutAForm() {
+        String puzzle = TestPuzzles.read("hard").getFirst();
+        SolutionCache cache = new SolutionCache(4);
+        cache.put(TestPuzzles.givens(puzzle), solve(puzzle));
+        assertArrayEquals(solve(puzzle), cache.get(TestPuzzles.givens(puzzle)));
+        assertEquals(0, cache.getForms());
+    }
+
+    @Test
+    void aPuzzleOfANewShapeMissesWithoutAForm() {
+        SolutionCache cache = new SolutionCache(100);
+        for (String puzzle : TestPuzzles.read("hard")) {
+            assertNull(cache.get(TestPuzzles.givens(puzzle)));
+            cache.put(TestPuzzles.givens(puzzle), solve(puzzle));
+        }
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getForms());
+    }
+
+    @Test
+    void theShapeIsTheSameForEverySymmetry() {
+        int[] givens = TestPuzzles.givens(TestPuzzles.read("hard").getFirst());
+        int[] transposed = new int[Grid.CELL_COUNT];
+        int[] swapped = new int[Grid.CELL_COUNT];
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            int x = index % Grid.SIZE;
+            int y = index / Grid.SIZE;
+            transposed[y + x * Grid.SIZE] = givens[index];
+            // the first two bands exchanged
+            int line = y < 2 * Grid.BLOCK_SIZE ? (y + Grid.BLOCK_SIZE) % (2 * Grid.BLOCK_SIZE) : y;
+            swapped[x + line * Grid.SIZE] = givens[index];
+        }
+        assertEquals(SolutionCache.shapeOf(givens), SolutionCache.shapeOf(transposed));
+        assertEquals(SolutionCache.shapeOf(givens), SolutionCache.shapeOf(swapped));
+    }
+
+    @Test
+    void aPuzzleOfTheSameShapeIsNotTakenForAnother() {
+        String puzzle = TestPuzzles.read("hard").getFirst();
+        int[] givens = TestPuzzles.givens(puzzle);
+        // the first two givens exchanged, on the same line: every count stays the same
+        int[] other = givens.clone();
+        int first = 0;
+        while (givens[first] == 0) {
+            first++;
+        }
+        int second = first + 1;
+        while (givens[second] == 0) {
+            second++;
+        }
+        other[first] = givens[second];
+        other[second] = givens[first];
+        assertEquals(SolutionCache.shapeOf(givens), SolutionCache.shapeOf(other));
+
+        SolutionCache cache = new SolutionCache(4);
+        cache.put(givens, solve(puzzle));
+        int[] found = cache.get(other);
+        if (found != null) {
+            // only a symmetry of the puzzle may find its solution
+            assertEquals(CanonicalForm.of(givens).getKey(), CanonicalForm.of(other).getKey());
+        }
+        assertEquals(2, cache.getForms());
+    }
+
+    @Test
+    void aPuzzleTooSparseForAFormIsOnlyFoundByItself() {
+        int[] givens = new int[Grid.CELL_COUNT];
+        givens[0] = 1;
+        int[] values = solve(TestPuzzles.read("hard").getFirst());
+        SolutionCache cache = new SolutionCache(4);
+        cache.put(givens, values);
+        assertArrayEquals(values, cache.get(givens));
+
+        int[] moved = new int[Grid.CELL_COUNT];
+        moved[1] = 1;
+        assertNull(cache.get(moved));
+        assertEquals(1, cache.getForms());
+    }
+
+    @Test
+    void theLeastRecentlyUsedSolutionIsEvicted() {
+        List<String> puzzles = TestPuzzles.read("hard").subList(0, 3);
+        SolutionCache cache = new SolutionCache(2);
+        cache.put(TestPuzzles.givens(puzzles.get(0)), solve(puzzles.get(0)));
+        cache.put(TestPuzzles.givens(puzzles.get(1)), solve(puzzles.get(1)));
+        // the first one is now the most recently used
+        assertNotNull(cache.get(TestPuzzles.givens(puzzles.get(0))));
+        cache.put(TestPuzzles.givens(puzzles.get(2)), solve(puzzles.get(2)));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(TestPuzzles.givens(puzzles.get(1))));
+        assertArrayEquals(solve(puzzles.get(0)), cache.get(TestPuzzles.givens(puzzles.get(0))));
+        assertArrayEquals(solve(puzzles.get(2)), cache.get(TestPuzzles.givens(puzzles.get(2))));
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void puttingASolutionAgainEvictsNothing() {
+        String puzzle = TestPuzzles.read("hard").getFirst();
+        SolutionCache cache = new SolutionCache(1);
+        cache.put(TestPuzzles.givens(puzzle), solve(puzzle));
+        cache.put(TestPuzzles.givens(puzzle), solve(puzzle));
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    void theCapacityMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new SolutionCache(0));
+    }
+
+    private static int[] solve(String puzzle) {
+        Grid grid = TestPuzzles.load(puzzle);
+        Solvers.solveAll(grid);
+        return TestPuzzles.values(grid);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package ca.dauqui.sodokusolver.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GridPoolTest {
+
+    @Test
+    void aReleasedGridIsReusedByTheSameThread() {
+        GridPool pool = new GridPool(2);
+        Grid grid = pool.acquire(Grid.BLOCK_SIZE);
+        pool.release(grid);
+        assertSame(grid, pool.acquire(Grid.BLOCK_SIZE));
+        assertEquals(1, pool.getCreated());
+        assertEquals(1, pool.getReused());
+        assertEquals(0, pool.getIdle());
+    }
+
+    @Test
+    void eachBlockSizeHasItsOwnGrids() {
+        GridPool pool = new GridPool(2);
+        Grid standard = pool.acquire(Grid.BLOCK_SIZE);
+        pool.release(standard);
+        Grid large = pool.acquire(4);
+        assertNotSame(standard, large);
+        assertEquals(16, large.getSize());
+        assertSame(standard, pool.acquire(Grid.BLOCK_SIZE));
+        assertThrows(IllegalArgumentException.class, () -> pool.acquire(Grid.MAX_BLOCK_SIZE + 1));
+    }
+
+    @Test
+    void theGridsBeyondTheIdleLimitAreDiscarded() {
+        GridPool pool = new GridPool(1);
+        Grid first = pool.acquire(Grid.BLOCK_SIZE);
+        Grid second = pool.acquire(Grid.BLOCK_SIZE);
+        pool.release(first);
+        pool.release(second);
+        assertEquals(1, pool.getDiscarded());
+        assertEquals(1, pool.getIdle());
+        assertSame(first, pool.acquire(Grid.BLOCK_SIZE));
+    }
+
+    @Test
+    void aReleasedGridIsDetachedButKeepsItsContent() {
+        GridPool pool = new GridPool(1);
+        Grid grid = pool.acquire(Grid.BLOCK_SIZE);
+        grid.setLog(new SolveLog());
+        grid.setLimit(new SolveLimit(null, 10, null));
+        int[] notified = new int[1];
+        grid.setObserver(cell -> notified[0]++);
+        grid.getCell(0, 0).setCellValue(5, true);
+        pool.release(grid);
+        int notifiedBefore = notified[0];
+
+        Grid reused = pool.acquire(Grid.BLOCK_SIZE);
+        reused.getCell(8, 8).removeCellValue(1);
+        assertEquals(notifiedBefore, notified[0]);
+        assertNull(reused.getLog());
+        assertNull(reused.getLimit());
+        assertEquals(5, reused.getCell(0, 0).getValue());
+        // loading the next puzzle clears the last one
+        String puzzle = TestPuzzles.read("easy").getFirst();
+        int[] givens = TestPuzzles.givens(puzzle);
+        reused.loadGivens(givens);
+        assertArrayEquals(TestPuzzles.load(puzzle).copyCandidates(), reused.copyCandidates());
+    }
+
+    @Test
+    void aGridReleasedByAnotherThreadStaysWithThatThread() throws Exception {
+        GridPool pool = new GridPool(1);
+        Grid grid = pool.acquire(Grid.BLOCK_SIZE);
+        CompletableFuture.runAsync(() -> pool.release(grid), Thread::startVirtualThread).get();
+        assertEquals(1, pool.getIdle());
+        assertNotSame(grid, pool.acquire(Grid.BLOCK_SIZE));
+        assertEquals(2, pool.getCreated());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,272 @@
+package ca.dauqui.sodokusolver.game;
+
+import ca.dauqui.sodokusolver.game.solvers.Solvers;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.function.ObjIntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridTest {
+
+    @Test
+    void theIndexOfACellFollowsTheSizeOfTheGrid() {
+        for (int blockSize = Grid.MIN_BLOCK_SIZE; blockSize <= Grid.MAX_BLOCK_SIZE; blockSize++) {
+            Grid grid = new Grid(blockSize);
+            for (int x = 0; x < grid.getSize(); x++) {
+                for (int y = 0; y < grid.getSize(); y++) {
+                    assertSame(grid.getCell(x, y), grid.getCell(grid.indexOf(x, y)), x + ", " + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    void undoPutsBackTheGridOfTheMark() {
+        for (String puzzle : TestPuzzles.read("hard")) {
+            Grid grid = TestPuzzles.load(puzzle);
+            int[] before = grid.copyCandidates();
+            int solvedBefore = grid.getSolvedCount();
+            int mark = grid.mark();
+            Solvers.solveAll(grid);
+            assertTrue(grid.isResolved());
+
+            grid.undo(mark);
+            assertArrayEquals(before, grid.copyCandidates(), puzzle);
+            assertEquals(solvedBefore, grid.getSolvedCount());
+            assertFalse(grid.isResolved());
+        }
+    }
+
+    @Test
+    void redoMakesTheUndoneChangesAgain() {
+        for (String puzzle : TestPuzzles.read("hard")) {
+            Grid grid = TestPuzzles.load(puzzle);
+            int mark = grid.mark();
+            Solvers.solveAll(grid);
+            int[] solved = grid.copyCandidates();
+            int end = grid.mark();
+
+            grid.undo(mark);
+            grid.redo(end);
+            assertArrayEquals(solved, grid.copyCandidates(), puzzle);
+            assertTrue(grid.isResolved());
+            assertTrue(grid.isConsistent());
+        }
+    }
+
+    @Test
+    void undoAndRedoKeepTheGivens() {
+        Grid grid = new Grid();
+        int mark = grid.mark();
+        grid.getCell(4, 4).setCellValue(5, true);
+        int end = grid.mark();
+        assertTrue(grid.getCell(4, 4).isSet());
+
+        grid.undo(mark);
+        assertFalse(grid.getCell(4, 4).isSet());
+        assertEquals(0, grid.getCell(4, 4).getValue());
+        assertTrue(grid.getCell(4, 0).isPossible(5));
+
+        grid.redo(end);
+        assertTrue(grid.getCell(4, 4).isSet());
+        assertEquals(5, grid.getCell(4, 4).getValue());
+        assertFalse(grid.getCell(4, 0).isPossible(5));
+    }
+
+    @Test
+    void aNewChangeDropsTheUndoneOnes() {
+        Grid grid = new Grid();
+        int mark = grid.mark();
+        grid.getCell(0, 0).setCellValue(1, true);
+        int end = grid.mark();
+        grid.undo(mark);
+
+        grid.getCell(0, 0).setCellValue(2, true);
+        int[] changed = grid.copyCandidates();
+        grid.redo(end);
+        assertArrayEquals(changed, grid.copyCandidates());
+        assertEquals(2, grid.getCell(0, 0).getValue());
+    }
+
+    @Test
+    void nestedMarksUndoOneLevelAtATime() {
+        Grid grid = TestPuzzles.load(TestPuzzles.read("medium").getFirst());
+        int[] start = grid.copyCandidates();
+        int outer = grid.mark();
+        int index = firstEmptyCell(grid);
+        grid.getCell(index).removeCellValue(Candidates.first(grid.getCandidates(index)));
+        int[] middle = grid.copyCandidates();
+        int inner = grid.mark();
+        Solvers.propagate(grid);
+
+        grid.undo(inner);
+        assertArrayEquals(middle, grid.copyCandidates());
+        grid.undo(outer);
+        assertArrayEquals(start, grid.copyCandidates());
+    }
+
+    @Test
+    void theChangesBeforeTheFirstMarkAreNotKept() {
+        // loading the givens removes their values from the peers
+        Grid grid = TestPuzzles.load(TestPuzzles.read("medium").getFirst());
+        assertEquals(0, grid.getTrailLength());
+
+        int[] loaded = grid.copyCandidates();
+        int mark = grid.mark();
+        int index = firstEmptyCell(grid);
+        grid.getCell(index).removeCellValue(Candidates.first(grid.getCandidates(index)));
+        assertTrue(grid.getTrailLength() > 0);
+        grid.undo(mark);
+        assertArrayEquals(loaded, grid.copyCandidates());
+
+        grid.reset();
+        grid.getCell(0, 0).setCellValue(1, true);
+        assertEquals(0, grid.getTrailLength());
+    }
+
+    @Test
+    void thePeersAreTheCellsSharingALineAColumnOrABlock() {
+        for (int blockSize = Grid.MIN_BLOCK_SIZE; blockSize <= Grid.MAX_BLOCK_SIZE; blockSize++) {
+            Grid grid = new Grid(blockSize);
+            int size = grid.getSize();
+            for (int index = 0; index < grid.getCellCount(); index++) {
+                int[] expected = new int[3 * (size - 1) - 2 * (blockSize - 1)];
+                int count = 0;
+                for (int other = 0; other < grid.getCellCount(); other++) {
+                    boolean line = index / size == other / size;
+                    boolean column = index % size == other % size;
+                    boolean block = index / size / blockSize == other / size / blockSize
+                            && index % size / blockSize == other % size / blockSize;
+                    if (other != index && (line || column || block)) {
+                        expected[count++] = other;
+                    }
+                }
+                assertEquals(expected.length, count);
+                assertArrayEquals(expected, grid.getPeers(index), "cell " + index + " of size " + size);
+            }
+        }
+    }
+
+    @Test
+    void theSolvedCountFollowsEveryChangeUndoAndRedo() {
+        for (String puzzle : TestPuzzles.read("hard")) {
+            Grid grid = TestPuzzles.load(puzzle);
+            assertEquals(countSolved(grid), grid.getSolvedCount(), puzzle);
+            int start = grid.mark();
+            Solvers.propagate(grid);
+            assertEquals(countSolved(grid), grid.getSolvedCount(), puzzle);
+            int propagated = grid.mark();
+            Solvers.solveAll(grid);
+            assertEquals(Grid.CELL_COUNT, grid.getSolvedCount(), puzzle);
+            int solved = grid.mark();
+
+            grid.undo(propagated);
+            assertEquals(countSolved(grid), grid.getSolvedCount(), puzzle);
+            grid.undo(start);
+            assertEquals(countSolved(grid), grid.getSolvedCount(), puzzle);
+            grid.redo(solved);
+            assertEquals(Grid.CELL_COUNT, grid.getSolvedCount(), puzzle);
+            assertTrue(grid.isResolved());
+        }
+    }
+
+    @Test
+    void theSolvedCountFollowsRandomRemovalsAndUndos() {
+        randomWalk(17, (grid, step) -> assertEquals(countSolved(grid), grid.getSolvedCount(), "step " + step));
+    }
+
+    @Test
+    void aContradictionLastsUntilEveryEmptyCellIsUndone() {
+        Grid grid = new Grid();
+        int start = grid.mark();
+        grid.getCell(0, 0).keepValues(1);
+        grid.getCell(1, 0).keepValues(1);
+        assertTrue(grid.hasContradiction());
+        int first = grid.mark();
+        grid.getCell(5, 5).keepValues(2);
+        grid.getCell(5, 6).keepValues(2);
+        int second = grid.mark();
+
+        grid.undo(first);
+        // the first empty cell is still there
+        assertTrue(grid.hasContradiction());
+        grid.undo(start);
+        assertFalse(grid.hasContradiction());
+        grid.redo(second);
+        assertTrue(grid.hasContradiction());
+        grid.reset();
+        assertFalse(grid.hasContradiction());
+    }
+
+    @Test
+    void givensSeeingEachOtherAreAContradiction() {
+        int[] values = new int[Grid.CELL_COUNT];
+        values[0] = 3;
+        values[80] = 3;
+        values[8] = 3;
+        Grid grid = new Grid();
+        assertFalse(grid.loadGivens(values));
+        values[8] = 0;
+        assertTrue(grid.loadGivens(values));
+        assertFalse(grid.hasContradiction());
+    }
+
+    @Test
+    void theContradictionFollowsRandomRemovalsAndUndos() {
+        randomWalk(23, (grid, step) -> {
+            boolean empty = false;
+            for (int index = 0; index < Grid.CELL_COUNT; index++) {
+                empty |= grid.getCandidates(index) == 0;
+            }
+            assertEquals(empty, grid.hasContradiction(), "step " + step);
+        });
+    }
+
+    /**
+     * removes random values from random cells of the first line, going back to a random earlier mark from time to time
+     * and always after a contradiction, checking the grid after each step
+     * the cells are taken from a single line so the singles and the empty cells come often
+     */
+    private static void randomWalk(long seed, ObjIntConsumer<Grid> check) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Grid grid = new Grid();
+        int[] marks = new int[64];
+        int depth = 0;
+        for (int step = 0; step < 10_000; step++) {
+            if (depth == marks.length || depth > 0 && (random.nextInt(8) == 0 || grid.hasContradiction())) {
+                // back one to three marks, dropping the ones after it
+                depth -= 1 + random.nextInt(Math.min(depth, 3));
+                grid.undo(marks[depth]);
+            } else {
+                marks[depth++] = grid.mark();
+                grid.getCell(random.nextInt(Grid.SIZE)).removeCellValue(random.nextInt(Grid.SIZE) + 1);
+            }
+            check.accept(grid, step);
+        }
+    }
+
+    private static int countSolved(Grid grid) {
+        int solved = 0;
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            if (Candidates.count(grid.getCandidates(index)) == 1) {
+                solved++;
+            }
+        }
+        return solved;
+    }
+
+    private static int firstEmptyCell(Grid grid) {
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            if (!grid.getCell(index).isChosen()) {
+                return index;
+            }
+        }
+        throw new IllegalStateException("the grid is full");
+    }
+}
@@ -0,0 +1,98 @@
+package ca.dauqui.sodokusolver.game;
+
+import ca.dauqui.sodokusolver.game.solvers.SearchEngine;
+import ca.dauqui.sodokusolver.game.solvers.SolveOutcome;
+import ca.dauqui.sodokusolver.game.solvers.Solvers;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolveLimitTest {
+
+    @Test
+    void theNodeBudgetStopsAtItsLastNode() {
+        SolveLimit limit = new SolveLimit(null, 3, null);
+        for (int node = 0; node < 3; node++) {
+            assertFalse(limit.countNode());
+        }
+        assertTrue(limit.countNode());
+        assertEquals(3, limit.getNodes());
+        assertEquals(SolveLimit.Reason.NODE_BUDGET, limit.getReason());
+        // a limit reached stays reached
+        assertTrue(limit.countNode());
+        assertTrue(limit.isReached());
+        assertThrows(IllegalArgumentException.class, () -> new SolveLimit(null, -1, null));
+    }
+
+    @Test
+    void theDeadlineIsOnlyReadFromTimeToTimeByTheNodes() {
+        SolveLimit limit = new SolveLimit(Duration.ZERO, Long.MAX_VALUE, null);
+        // the clock is read once every 64 nodes
+        for (int node = 1; node < 64; node++) {
+            assertFalse(limit.countNode());
+        }
+        assertTrue(limit.countNode());
+        assertEquals(SolveLimit.Reason.TIMEOUT, limit.getReason());
+
+        SolveLimit checked = new SolveLimit(Duration.ZERO, Long.MAX_VALUE, null);
+        assertTrue(checked.isReached());
+        assertEquals(SolveLimit.Reason.TIMEOUT, checked.getReason());
+        assertFalse(new SolveLimit(Duration.ofHours(1), Long.MAX_VALUE, null).isReached());
+    }
+
+    @Test
+    void aTokenIsCancelledWithItsParent() {
+        CancellationToken server = new CancellationToken();
+        CancellationToken request = new CancellationToken(server);
+        CancellationToken other = new CancellationToken(server);
+        SolveLimit limit = new SolveLimit(null, Long.MAX_VALUE, request);
+        assertFalse(limit.isReached());
+
+        // cancelling a request leaves the others running
+        other.cancel();
+        assertFalse(request.isCancelled());
+        assertFalse(server.isCancelled());
+        assertFalse(limit.isReached());
+
+        server.cancel();
+        assertTrue(request.isCancelled());
+        assertTrue(limit.isReached());
+        assertEquals(SolveLimit.Reason.CANCELLED, limit.getReason());
+    }
+
+    @Test
+    void aStoppedSearchLeavesTheGridAsTheSolversFoundIt() {
+        for (SearchEngine engine : SearchEngine.values()) {
+            Grid grid = new Grid();
+            SolveLimit limit = new SolveLimit(null, 10, null);
+            assertEquals(SolveOutcome.STOPPED, Solvers.solveWithin(grid, engine, limit), engine.name());
+            assertEquals(SolveLimit.Reason.NODE_BUDGET, limit.getReason());
+            assertEquals(0, grid.getSolvedCount(), engine.name());
+            assertFalse(grid.hasContradiction());
+            assertNull(grid.getLimit());
+
+            // the partial result can still be solved later
+            assertEquals(SolveOutcome.SOLVED, Solvers.solveWithin(grid, engine, null), engine.name());
+        }
+    }
+
+    @Test
+    void aCancelledSolvingStopsBeforeTheFirstSolver() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        String puzzle = TestPuzzles.read("easy").getFirst();
+        Grid grid = TestPuzzles.load(puzzle);
+        int[] before = grid.copyCandidates();
+        SolveLimit limit = new SolveLimit(null, Long.MAX_VALUE, token);
+        assertEquals(SolveOutcome.STOPPED, Solvers.solveWithin(grid, SearchEngine.BACKTRACKING, limit));
+        assertEquals(SolveLimit.Reason.CANCELLED, limit.getReason());
+        assertArrayEquals(before, grid.copyCandidates(), puzzle);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package ca.dauqui.sodokusolver.game;
+
+import ca.dauqui.sodokusolver.game.solvers.Solvers;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolveLogTest {
+
+    @Test
+    void eachCallOfASolverIsAStep() {
+        Grid grid = new Grid();
+        SolveLog log = new SolveLog();
+        grid.setLog(log);
+
+        log.beginStep(Solvers.X_WING.ordinal());
+        grid.getCell(2, 3).removeCellValue(4);
+        grid.getCell(2, 5).removeCellValue(4);
+        // a step that removes nothing leaves nothing
+        log.beginStep(Solvers.XY_WING.ordinal());
+        log.beginStep(SolveLog.NONE);
+        grid.getCell(7, 7).removePossibilities(Candidates.of(1, 9));
+
+        assertEquals(3, log.size());
+        assertEquals(2, log.getStepCount());
+        assertTrue(log.isStepStart(0));
+        assertFalse(log.isStepStart(1));
+        assertTrue(log.isStepStart(2));
+        assertEquals(Solvers.X_WING.ordinal(), log.getSource(1));
+        assertEquals(grid.getCell(2, 5).getIndex(), log.getCell(1));
+        assertEquals(Candidates.of(4), log.getEliminated(1));
+        assertEquals(SolveLog.NONE, log.getSource(2));
+        assertEquals(Candidates.of(1, 9), log.getEliminated(2));
+    }
+
+    @Test
+    void theRemovalsFollowingASingleBelongToItsStep() {
+        Grid grid = new Grid();
+        SolveLog log = new SolveLog();
+        grid.setLog(log);
+        log.beginStep(Solvers.SINGLE_POSS_IN_GROUP.ordinal());
+        grid.getCell(0, 0).setCellValue(5, false);
+        // the cell loses 8 values, then 5 leaves its 20 peers
+        assertEquals(21, log.size());
+        assertEquals(1, log.getStepCount());
+    }
+
+    @Test
+    void undoForgetsTheEventsOfTheUndoneChanges() {
+        Grid grid = new Grid();
+        SolveLog log = new SolveLog();
+        grid.setLog(log);
+        log.beginStep(SolveLog.NONE);
+        grid.getCell(0, 0).removeCellValue(1);
+        int mark = grid.mark();
+        log.beginStep(SolveLog.SEARCH);
+        grid.getCell(4, 4).setCellValue(2, false);
+        assertEquals(2, log.getStepCount());
+
+        grid.undo(mark);
+        assertEquals(1, log.size());
+        assertEquals(1, log.getStepCount());
+        // the next removal starts a new step, the one it continued is gone
+        grid.getCell(1, 1).removeCellValue(1);
+        assertEquals(2, log.getStepCount());
+        assertTrue(log.isStepStart(1));
+    }
+
+    @Test
+    void theLogOfASolvingHoldsEachRemovalOnce() {
+        for (String puzzle : TestPuzzles.read("hard")) {
+            Grid grid = TestPuzzles.load(puzzle);
+            int[] before = grid.copyCandidates();
+            SolveLog log = new SolveLog();
+            grid.setLog(log);
+            Solvers.solveAll(grid);
+            assertTrue(grid.isResolved(), puzzle);
+
+            int[] removed = new int[Grid.CELL_COUNT];
+            for (int event = 0; event < log.size(); event++) {
+                int cell = log.getCell(event);
+                assertEquals(0, removed[cell] & log.getEliminated(event), puzzle);
+                removed[cell] |= log.getEliminated(event);
+            }
+            for (int index = 0; index < removed.length; index++) {
+                assertEquals(before[index] & ~grid.getCandidates(index), removed[index], puzzle);
+            }
+        }
+    }
+}
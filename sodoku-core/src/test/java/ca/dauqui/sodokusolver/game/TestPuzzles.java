@@ -0,0 +1,78 @@
+package ca.dauqui.sodokusolver.game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The puzzles of the test resources: the standard sets the benchmarks of sodoku-bench also read, plus a few 16x16 puzzles
+ */
+public final class TestPuzzles {
+    /**
+     * the sets of standard puzzles, from the easiest to the hardest
+     */
+    public static final List<String> STANDARD = List.of("easy", "medium", "hard", "pathological");
+
+    private TestPuzzles() {}
+
+    /**
+     * @param name the name of a set, without its extension
+     * @return the puzzles of the set, one line each in the format of the batch solver
+     */
+    public static List<String> read(String name) {
+        String resource = "/puzzles/" + name + ".txt";
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                TestPuzzles.class.getResourceAsStream(resource), StandardCharsets.US_ASCII))) {
+            return reader.lines().filter(line -> !line.isBlank()).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param puzzle a puzzle line
+     * @return a new grid of the size of the puzzle, holding its givens
+     */
+    public static Grid load(String puzzle) {
+        Grid grid = new Grid((int) Math.round(Math.sqrt(Math.sqrt(puzzle.length()))));
+        int[] givens = givens(puzzle);
+        for (int index = 0; index < givens.length; index++) {
+            if (givens[index] != 0) {
+                Cell cell = grid.getCell(index);
+                if (!cell.isPossible(givens[index])) {
+                    throw new IllegalArgumentException("not a valid puzzle: " + puzzle);
+                }
+                cell.setCellValue(givens[index], true);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * @param puzzle a puzzle line
+     * @return the givens of the line, 0 for the empty cells, without the values a grid would deduce from them
+     */
+    public static int[] givens(String puzzle) {
+        int[] givens = new int[puzzle.length()];
+        for (int index = 0; index < givens.length; index++) {
+            char c = puzzle.charAt(index);
+            givens[index] = c == '.' ? 0 : Character.digit(c, Character.MAX_RADIX);
+        }
+        return givens;
+    }
+
+    /**
+     * @param grid a grid
+     * @return the value of each cell, 0 for the cells without a chosen value
+     */
+    public static int[] values(Grid grid) {
+        int[] values = new int[grid.getCellCount()];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = grid.getCell(index).getValue();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,78 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import org.junit.jupiter.api.Test;
+
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertEliminates;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertOnlyEliminatedBy;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertSoundOnTestPuzzles;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.index;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.without;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockAndLineIntersectionTest {
+
+    @Test
+    void aValuePointingAlongALineIsRemovedFromTheRestOfTheLine() {
+        Grid grid = new Grid();
+        // 1 can only be in the first line of the first block
+        for (int y = 1; y < Grid.BLOCK_SIZE; y++) {
+            for (int x = 0; x < Grid.BLOCK_SIZE; x++) {
+                grid.getCell(x, y).removeCellValue(1);
+            }
+        }
+
+        int[] expected = grid.copyCandidates();
+        for (int x = Grid.BLOCK_SIZE; x < Grid.SIZE; x++) {
+            without(expected, index(grid, x, 0), 1);
+        }
+        assertOnlyEliminatedBy(Solvers.BLOCK_LINE_INTERSECTION, grid, expected);
+    }
+
+    @Test
+    void aValueClaimedByALineIsRemovedFromTheRestOfTheBlock() {
+        Grid grid = new Grid();
+        // 5 can only be in the first block of the middle line
+        for (int x = Grid.BLOCK_SIZE; x < Grid.SIZE; x++) {
+            grid.getCell(x, 4).removeCellValue(5);
+        }
+
+        int[] expected = grid.copyCandidates();
+        for (int x = 0; x < Grid.BLOCK_SIZE; x++) {
+            without(expected, index(grid, x, 3), 5);
+            without(expected, index(grid, x, 5), 5);
+        }
+        assertOnlyEliminatedBy(Solvers.BLOCK_LINE_INTERSECTION, grid, expected);
+    }
+
+    @Test
+    void aValueClaimedByAColumnIsRemovedFromTheRestOfTheBlock() {
+        Grid grid = new Grid();
+        // 9 can only be in the last block of the last column
+        for (int y = 0; y < Grid.SIZE - Grid.BLOCK_SIZE; y++) {
+            grid.getCell(8, y).removeCellValue(9);
+        }
+
+        int[] expected = grid.copyCandidates();
+        for (int y = Grid.SIZE - Grid.BLOCK_SIZE; y < Grid.SIZE; y++) {
+            without(expected, index(grid, 6, y), 9);
+            without(expected, index(grid, 7, y), 9);
+        }
+        assertOnlyEliminatedBy(Solvers.BLOCK_LINE_INTERSECTION, grid, expected);
+    }
+
+    @Test
+    void nothingIsRemovedWhenEachValueSpansTwoLines() {
+        Grid grid = new Grid();
+        // 1 is left in two lines of the first block
+        for (int x = 0; x < Grid.BLOCK_SIZE; x++) {
+            grid.getCell(x, 2).removeCellValue(1);
+        }
+        assertEliminates(new BlockAndLineIntersection(), grid, grid.copyCandidates());
+    }
+
+    @Test
+    void theSolutionOfTheTestPuzzlesIsKept() {
+        assertTrue(assertSoundOnTestPuzzles(new BlockAndLineIntersection()) > 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import org.junit.jupiter.api.Test;
+
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertEliminates;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertOnlyEliminatedBy;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertSoundOnTestPuzzles;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.index;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.without;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FishTest {
+
+    @Test
+    void anXWingRemovesItsValueFromTheRestOfItsColumns() {
+        Grid grid = fish(new int[]{0, 4}, new int[][]{{0, 4}, {0, 4}});
+        assertOnlyEliminatedBy(Solvers.X_WING, grid, expected(grid, new int[]{0, 4}, new int[]{0, 4}));
+    }
+
+    @Test
+    void anXWingOnColumnsRemovesItsValueFromTheRestOfItsLines() {
+        Grid grid = new Grid();
+        // 1 can only be in lines 2 and 7 of columns 1 and 5
+        for (int x : new int[]{1, 5}) {
+            for (int y = 0; y < Grid.SIZE; y++) {
+                if (y != 2 && y != 7) {
+                    grid.getCell(x, y).removeCellValue(1);
+                }
+            }
+        }
+
+        int[] expected = grid.copyCandidates();
+        for (int y : new int[]{2, 7}) {
+            for (int x = 0; x < Grid.SIZE; x++) {
+                if (x != 1 && x != 5) {
+                    without(expected, index(grid, x, y), 1);
+                }
+            }
+        }
+        assertOnlyEliminatedBy(Solvers.X_WING, grid, expected);
+    }
+
+    @Test
+    void aSwordfishNeedsNotEveryColumnInEachLine() {
+        Grid grid = fish(new int[]{0, 3, 6}, new int[][]{{0, 3}, {3, 6}, {0, 6}});
+        assertOnlyEliminatedBy(Solvers.SWORDFISH, grid, expected(grid, new int[]{0, 3, 6}, new int[]{0, 3, 6}));
+        // there are no two lines with the same two columns
+        Grid same = fish(new int[]{0, 3, 6}, new int[][]{{0, 3}, {3, 6}, {0, 6}});
+        assertEliminates(new Fish(2), same, same.copyCandidates());
+    }
+
+    @Test
+    void aJellyfishRemovesItsValueFromTheRestOfItsFourColumns() {
+        // the columns of a line are in two blocks, and the lines 3 and 5 cover the three blocks of their band,
+        // so no block holds the value on a single line
+        Grid grid = fish(new int[]{0, 3, 5, 8}, new int[][]{{0, 4}, {1, 4}, {1, 8}, {0, 8}});
+        assertOnlyEliminatedBy(Solvers.JELLYFISH, grid, expected(grid, new int[]{0, 3, 5, 8}, new int[]{0, 1, 4, 8}));
+    }
+
+    @Test
+    void theSolutionOfTheTestPuzzlesIsKept() {
+        for (int size = 2; size <= 4; size++) {
+            assertTrue(assertSoundOnTestPuzzles(new Fish(size)) > 0, "fish of " + size);
+        }
+    }
+
+    /**
+     * @param lines the base lines of the fish
+     * @param columns the only columns of each base line where 1 is possible
+     * @return an empty grid where 1 is only possible in those columns of the base lines
+     */
+    private static Grid fish(int[] lines, int[][] columns) {
+        Grid grid = new Grid();
+        for (int i = 0; i < lines.length; i++) {
+            for (int x = 0; x < Grid.SIZE; x++) {
+                if (!contains(columns[i], x)) {
+                    grid.getCell(x, lines[i]).removeCellValue(1);
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * @return the candidates of the grid once 1 is removed from the columns of the fish outside its base lines
+     */
+    private static int[] expected(Grid grid, int[] lines, int[] columns) {
+        int[] expected = grid.copyCandidates();
+        for (int x : columns) {
+            for (int y = 0; y < Grid.SIZE; y++) {
+                if (!contains(lines, y)) {
+                    without(expected, index(grid, x, y), 1);
+                }
+            }
+        }
+        return expected;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.SolveLog;
+import ca.dauqui.sodokusolver.game.TestPuzzles;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradeTest {
+
+    @Test
+    void anEmptyLogIsEasy() {
+        assertEquals(new Grade(Difficulty.EASY, null, 0, 0, 0), Grade.of(new SolveLog()));
+    }
+
+    @Test
+    void theHardestStepGivesTheDifficulty() {
+        Grid grid = new Grid();
+        SolveLog log = new SolveLog();
+        grid.setLog(log);
+        log.beginStep(Solvers.SINGLE_POSS_IN_GROUP.ordinal());
+        grid.getCell(0, 0).removeCellValue(1);
+        log.beginStep(Solvers.X_WING.ordinal());
+        grid.getCell(1, 0).removeCellValue(1);
+        log.beginStep(Solvers.NAKED_AND_HIDDEN_SUBSETS.ordinal());
+        grid.getCell(2, 0).removeCellValue(1);
+
+        Grade grade = Grade.of(log);
+        assertEquals(Difficulty.HARD, grade.difficulty());
+        assertSame(Solvers.X_WING, grade.hardest());
+        assertEquals(3, grade.steps());
+        assertEquals(0, grade.guesses());
+        assertEquals(1 + 5 + 3, grade.score());
+    }
+
+    @Test
+    void aGuessMakesThePuzzleExpert() {
+        Grid grid = new Grid();
+        SolveLog log = new SolveLog();
+        grid.setLog(log);
+        log.beginStep(SolveLog.SEARCH);
+        grid.getCell(0, 0).setCellValue(1, false);
+
+        Grade grade = Grade.of(log);
+        assertEquals(Difficulty.EXPERT, grade.difficulty());
+        assertNull(grade.hardest());
+        assertEquals(1, grade.guesses());
+    }
+
+    @Test
+    void theGradeAgreesWithTheRating() {
+        for (String name : TestPuzzles.STANDARD) {
+            for (String puzzle : TestPuzzles.read(name)) {
+                Difficulty rating = Difficulty.rate(TestPuzzles.load(puzzle));
+                Grid grid = TestPuzzles.load(puzzle);
+                SolveLog previous = new SolveLog();
+                grid.setLog(previous);
+                Grade grade = Difficulty.grade(grid);
+
+                assertEquals(rating, grade.difficulty(), puzzle);
+                assertEquals(rating == Difficulty.EXPERT, grade.guesses() > 0, puzzle);
+                assertTrue(grade.score() >= grade.steps(), puzzle);
+                // the grid is left solved with its own log back
+                assertTrue(grid.isResolved() && grid.isConsistent(), puzzle);
+                assertSame(previous, grid.getLog());
+                assertEquals(0, previous.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Candidates;
+import ca.dauqui.sodokusolver.game.Grid;
+import org.junit.jupiter.api.Test;
+
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertEliminates;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertOnlyEliminatedBy;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertSoundOnTestPuzzles;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.index;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.without;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NakedAndHiddenSubsetsTest {
+
+    @Test
+    void aNakedPairIsRemovedFromItsLineAndBlock() {
+        Grid grid = new Grid();
+        grid.getCell(0, 0).keepValues(1, 2);
+        grid.getCell(1, 0).keepValues(1, 2);
+
+        int[] expected = grid.copyCandidates();
+        for (int x = 2; x < Grid.SIZE; x++) {
+            without(expected, index(grid, x, 0), 1, 2);
+        }
+        for (int y = 1; y < Grid.BLOCK_SIZE; y++) {
+            for (int x = 0; x < Grid.BLOCK_SIZE; x++) {
+                without(expected, index(grid, x, y), 1, 2);
+            }
+        }
+        assertOnlyEliminatedBy(Solvers.NAKED_AND_HIDDEN_SUBSETS, grid, expected);
+    }
+
+    @Test
+    void aNakedTripleNeedsNotEveryValueInEachCell() {
+        Grid grid = new Grid();
+        // 12, 23 and 13 in a column, spread over three blocks
+        grid.getCell(4, 0).keepValues(1, 2);
+        grid.getCell(4, 3).keepValues(2, 3);
+        grid.getCell(4, 6).keepValues(1, 3);
+
+        int[] expected = grid.copyCandidates();
+        for (int y = 0; y < Grid.SIZE; y++) {
+            if (y % Grid.BLOCK_SIZE != 0) {
+                without(expected, index(grid, 4, y), 1, 2, 3);
+            }
+        }
+        assertOnlyEliminatedBy(Solvers.NAKED_AND_HIDDEN_SUBSETS, grid, expected);
+    }
+
+    @Test
+    void aHiddenTripleKeepsOnlyItsValues() {
+        Grid grid = new Grid();
+        // 1, 2 and 3 can only be in three cells of the first line, in three different blocks
+        for (int x = 0; x < Grid.SIZE; x++) {
+            if (x != 0 && x != 4 && x != 8) {
+                grid.getCell(x, 0).removePossibilities(Candidates.of(1, 2, 3));
+            }
+        }
+
+        int[] expected = grid.copyCandidates();
+        for (int x : new int[]{0, 4, 8}) {
+            expected[index(grid, x, 0)] = Candidates.of(1, 2, 3);
+        }
+        assertOnlyEliminatedBy(Solvers.NAKED_AND_HIDDEN_SUBSETS, grid, expected);
+    }
+
+    @Test
+    void nothingIsRemovedWithoutASubset() {
+        Grid grid = new Grid();
+        grid.getCell(0, 0).keepValues(1, 2, 3);
+        grid.getCell(1, 0).keepValues(1, 2, 4);
+        assertEliminates(new NakedAndHiddenSubsets(), grid, grid.copyCandidates());
+    }
+
+    @Test
+    void valuesWithoutRoomInAGroupAreAContradiction() {
+        for (Solvers solver : new Solvers[] {Solvers.SINGLE_POSS_IN_GROUP, Solvers.NAKED_AND_HIDDEN_SUBSETS}) {
+            Grid grid = new Grid();
+            // no cell of the first line can be 9, yet no cell is empty
+            for (int x = 0; x < Grid.SIZE; x++) {
+                grid.getCell(x, 0).removeCellValue(9);
+            }
+            assertFalse(grid.hasContradiction());
+            assertTrue(solver.solve(grid), solver.name());
+            assertTrue(grid.hasContradiction(), solver.name());
+        }
+
+        Grid grid = new Grid();
+        // 8 and 9 can only be in the first cell of the first line
+        for (int x = 1; x < Grid.SIZE; x++) {
+            grid.getCell(x, 0).removePossibilities(Candidates.of(8, 9));
+        }
+        assertTrue(new NakedAndHiddenSubsets().solve(grid));
+        assertTrue(grid.hasContradiction());
+    }
+
+    @Test
+    void theSolutionOfTheTestPuzzlesIsKept() {
+        assertTrue(assertSoundOnTestPuzzles(new NakedAndHiddenSubsets()) > 0);
+    }
+}
\ No newline at end of file
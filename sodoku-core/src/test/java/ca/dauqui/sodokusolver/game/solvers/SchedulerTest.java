@@ -0,0 +1,76 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.TestPuzzles;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SchedulerTest {
+
+    @Test
+    void theGridSolversAreTriedByDecreasingYield() {
+        // statistics large enough to outweigh whatever the other tests recorded
+        List<Solvers> expected = List.of(Solvers.JELLYFISH, Solvers.X_WING, Solvers.XYZ_WING, Solvers.SWORDFISH,
+                Solvers.XY_WING);
+        for (int rank = 0; rank < expected.size(); rank++) {
+            long nanos = 1_000_000_000_000_000L;
+            expected.get(rank).record(1_000_000, nanos, (expected.size() - rank) * nanos / 1000);
+        }
+        Scheduler.reorder();
+        assertEquals(expected, Solvers.getGridSolverOrder());
+    }
+
+    @Test
+    void aSolverThatFoundNothingIsNotTriedAgainOnTheSameGrid() {
+        long[] before = invocations();
+        // nothing can be removed from an empty grid, so each grid solver is tried once
+        Solvers.propagate(new Grid());
+        long[] after = invocations();
+        for (Solvers solver : Solvers.values()) {
+            if (!solver.isGroupSolver()) {
+                assertEquals(1, after[solver.ordinal()] - before[solver.ordinal()], solver.name());
+            }
+        }
+    }
+
+    @Test
+    void ratingAPuzzleLearnsNothing() {
+        long[] before = invocations();
+        for (String puzzle : TestPuzzles.read("hard")) {
+            Difficulty.rate(TestPuzzles.load(puzzle));
+        }
+        assertArrayEquals(before, invocations());
+    }
+
+    @Test
+    void puttingSolversAsideEndsOnTheSameGridAsTryingThemAll() {
+        for (String name : TestPuzzles.STANDARD) {
+            for (String puzzle : TestPuzzles.read(name)) {
+                Grid scheduled = TestPuzzles.load(puzzle);
+                Solvers.propagate(scheduled);
+
+                Grid everyTime = TestPuzzles.load(puzzle);
+                boolean changed = true;
+                while (changed && !everyTime.hasContradiction()) {
+                    changed = false;
+                    for (Solvers solver : Solvers.values()) {
+                        changed |= solver.run(everyTime);
+                    }
+                }
+                assertArrayEquals(everyTime.copyCandidates(), scheduled.copyCandidates(), puzzle);
+            }
+        }
+    }
+
+    private static long[] invocations() {
+        long[] invocations = new long[Solvers.values().length];
+        for (Solvers solver : Solvers.values()) {
+            invocations[solver.ordinal()] = solver.getInvocations();
+        }
+        return invocations;
+    }
+}
\ No newline at end of file
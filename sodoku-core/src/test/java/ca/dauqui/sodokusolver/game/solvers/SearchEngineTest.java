@@ -0,0 +1,101 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.TestPuzzles;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchEngineTest {
+
+    @Test
+    void bothEnginesSolveTheStandardPuzzles() {
+        for (SearchEngine engine : SearchEngine.values()) {
+            for (String name : TestPuzzles.STANDARD) {
+                for (String puzzle : TestPuzzles.read(name)) {
+                    assertSolves(engine, puzzle, true);
+                }
+            }
+        }
+    }
+
+    @Test
+    void bothEnginesSolveWithoutTheSolvers() {
+        for (SearchEngine engine : SearchEngine.values()) {
+            for (String puzzle : TestPuzzles.read("hard")) {
+                assertSolves(engine, puzzle, false);
+            }
+        }
+    }
+
+    @Test
+    void bothEnginesSolveOtherSizes() {
+        for (SearchEngine engine : SearchEngine.values()) {
+            for (String puzzle : TestPuzzles.read("16x16")) {
+                assertSolves(engine, puzzle, true);
+            }
+        }
+    }
+
+    @Test
+    void bothEnginesGiveTheSameSolution() {
+        for (String puzzle : TestPuzzles.read("hard")) {
+            Grid backtracking = TestPuzzles.load(puzzle);
+            Solvers.solveAll(backtracking, SearchEngine.BACKTRACKING);
+            Grid dancingLinks = TestPuzzles.load(puzzle);
+            Solvers.solveAll(dancingLinks, SearchEngine.DANCING_LINKS);
+            // the puzzles have a unique solution
+            assertArrayEquals(TestPuzzles.values(backtracking), TestPuzzles.values(dancingLinks), puzzle);
+        }
+    }
+
+    @Test
+    void bothEnginesLeaveAGridWithoutSolutionUntouched() {
+        for (SearchEngine engine : SearchEngine.values()) {
+            Grid grid = new Grid();
+            // the first line needs a 9 in its last cell, which already sees a 9 below it
+            for (int x = 0; x < Grid.SIZE - 1; x++) {
+                grid.getCell(x, 0).setCellValue(x + 1, true);
+            }
+            grid.getCell(Grid.SIZE - 1, Grid.SIZE - 1).setCellValue(Grid.SIZE, true);
+            int[] before = grid.copyCandidates();
+            assertFalse(engine.solve(grid), engine.name());
+            assertArrayEquals(before, grid.copyCandidates(), engine.name());
+        }
+    }
+
+    /**
+     * solves the puzzle and checks the solution is complete, consistent and keeps the givens
+     * @param propagate whether the solvers run before the search
+     */
+    @Test
+    void solvingWithinNoLimitSolves() {
+        for (SearchEngine engine : SearchEngine.values()) {
+            Grid grid = TestPuzzles.load(TestPuzzles.read("hard").getFirst());
+            assertEquals(SolveOutcome.SOLVED, Solvers.solveWithin(grid, engine, null));
+            assertNull(grid.getLimit());
+        }
+    }
+
+    private static void assertSolves(SearchEngine engine, String puzzle, boolean propagate) {
+        Grid grid = TestPuzzles.load(puzzle);
+        int[] givens = TestPuzzles.values(grid);
+        if (propagate) {
+            Solvers.solveAll(grid, engine);
+        } else {
+            engine.solve(grid);
+        }
+        assertTrue(grid.isResolved(), engine + " did not solve " + puzzle);
+        assertTrue(grid.isConsistent(), engine + " broke a rule on " + puzzle);
+        int[] values = TestPuzzles.values(grid);
+        for (int index = 0; index < givens.length; index++) {
+            if (givens[index] != 0) {
+                assertEquals(givens[index], values[index], engine + " changed a given of " + puzzle);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.CancellationToken;
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+import ca.dauqui.sodokusolver.game.TestPuzzles;
+import ca.dauqui.sodokusolver.generator.PuzzleGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolutionCounterTest {
+
+    @Test
+    void thePuzzlesHaveAUniqueSolution() {
+        for (String name : TestPuzzles.STANDARD) {
+            for (String puzzle : TestPuzzles.read(name)) {
+                assertTrue(SolutionCounter.hasUniqueSolution(TestPuzzles.load(puzzle)), puzzle);
+            }
+        }
+    }
+
+    @Test
+    void countingLeavesTheGridUnchanged() {
+        Grid grid = TestPuzzles.load(TestPuzzles.read("hard").getFirst());
+        int[] before = grid.copyCandidates();
+        SolutionCounter.countSolutions(grid, 2);
+        assertArrayEquals(before, grid.copyCandidates());
+    }
+
+    @Test
+    void theCountStopsAtTheLimit() {
+        Grid empty = new Grid();
+        assertEquals(2, SolutionCounter.countSolutions(empty, 2));
+        assertEquals(5, SolutionCounter.countSolutions(empty, 5));
+        assertEquals(0, SolutionCounter.countSolutions(empty, 0));
+        assertFalse(SolutionCounter.hasUniqueSolution(empty));
+    }
+
+    @Test
+    void theCountStopsAtTheLimitOfTheGrid() {
+        Grid empty = new Grid();
+        empty.setLimit(new SolveLimit(null, 10, null));
+        assertEquals(SolutionCounter.UNKNOWN, SolutionCounter.countSolutions(empty, 1000));
+        assertEquals(SolveLimit.Reason.NODE_BUDGET, empty.getLimit().getReason());
+        assertFalse(SolutionCounter.hasUniqueSolution(empty));
+
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        Grid cancelled = new Grid();
+        cancelled.setLimit(new SolveLimit(null, Long.MAX_VALUE, token));
+        // the token is only looked at from time to time, long before a thousand solutions are found
+        assertEquals(SolutionCounter.UNKNOWN, SolutionCounter.countSolutions(cancelled, 1000));
+        assertEquals(SolveLimit.Reason.CANCELLED, cancelled.getLimit().getReason());
+    }
+
+    @Test
+    void aCountReachedBeforeTheLimitOfTheGridIsKept() {
+        Grid empty = new Grid();
+        empty.setLimit(new SolveLimit(null, 200, null));
+        // the first solutions come after fewer nodes than the budget
+        assertEquals(2, SolutionCounter.countSolutions(empty, 2));
+        assertTrue(empty.getLimit().getNodes() <= 200);
+    }
+
+    @Test
+    void aGridWithoutSolutionCountsNone() {
+        Grid grid = new Grid();
+        // the first line needs a 9 in its last cell, which already sees a 9 below it
+        for (int x = 0; x < Grid.SIZE - 1; x++) {
+            grid.getCell(x, 0).setCellValue(x + 1, true);
+        }
+        grid.getCell(Grid.SIZE - 1, Grid.SIZE - 1).setCellValue(Grid.SIZE, true);
+        assertEquals(0, SolutionCounter.countSolutions(grid, 2));
+    }
+
+    @Test
+    void aGeneratedPuzzleLosesItsUniquenessWithoutAnyGiven() {
+        int[] puzzle = new PuzzleGenerator().generate(new SplittableRandom(11)).clone();
+        assertTrue(SolutionCounter.hasUniqueSolution(load(puzzle)));
+        // the generated puzzles are minimal
+        for (int index = 0; index < puzzle.length; index++) {
+            int value = puzzle[index];
+            if (value == 0) {
+                continue;
+            }
+            puzzle[index] = 0;
+            assertEquals(2, SolutionCounter.countSolutions(load(puzzle), 2), "given at " + index);
+            puzzle[index] = value;
+        }
+    }
+
+    /**
+     * @param values the givens of a puzzle, 0 for the empty cells
+     * @return a new grid holding the givens
+     */
+    private static Grid load(int[] values) {
+        Grid grid = new Grid();
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != 0) {
+                grid.getCell(index).setCellValue(values[index], true);
+            }
+        }
+        return grid;
+    }
+}
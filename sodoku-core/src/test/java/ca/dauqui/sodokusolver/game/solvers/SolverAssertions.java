@@ -0,0 +1,125 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Candidates;
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.TestPuzzles;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Checks shared by the tests of the solvers: exact eliminations on a hand made grid,
+ * eliminations the cheaper solvers cannot make, and no elimination of the solution found by the dancing links
+ * on the test puzzles
+ */
+final class SolverAssertions {
+    private SolverAssertions() {}
+
+    /**
+     * runs the solver once on the grid and checks it removed exactly the expected candidates
+     * @param expected the candidates of each cell once the solver ran, see {@link #without(int[], int, int...)}
+     */
+    static void assertEliminates(Solver solver, Grid grid, int[] expected) {
+        int[] before = grid.copyCandidates();
+        boolean changed = solver.solve(grid);
+        assertEquals(!Arrays.equals(before, expected), changed, "the change reported");
+        int[] after = grid.copyCandidates();
+        for (int index = 0; index < after.length; index++) {
+            if (after[index] != expected[index]) {
+                fail(grid.getCell(index).getPositionString() + ": expected " + Integer.toBinaryString(expected[index])
+                        + " but was " + Integer.toBinaryString(after[index]));
+            }
+        }
+        assertFalse(grid.hasContradiction());
+    }
+
+    /**
+     * checks that none of the solvers before this one in {@link Solvers} changes the grid,
+     * then runs the solver once and checks it removed exactly the expected candidates
+     * @param expected the candidates of each cell once the solver ran, see {@link #without(int[], int, int...)}
+     */
+    static void assertOnlyEliminatedBy(Solvers solver, Grid grid, int[] expected) {
+        for (Solvers cheaper : Solvers.values()) {
+            if (cheaper == solver) {
+                break;
+            }
+            int[] before = grid.copyCandidates();
+            cheaper.solve(grid);
+            assertArrayEquals(before, grid.copyCandidates(), cheaper + " changed the grid");
+        }
+        assertEliminates(solver, grid, expected);
+    }
+
+    /**
+     * @param candidates the candidates of each cell, changed by this call
+     * @param index the index of a cell
+     * @param values the values the cell loses
+     * @return the candidates
+     */
+    static int[] without(int[] candidates, int index, int... values) {
+        candidates[index] &= ~Candidates.of(values);
+        return candidates;
+    }
+
+    /**
+     * @return the index of the cell at that position
+     */
+    static int index(Grid grid, int x, int y) {
+        return grid.getCell(x, y).getIndex();
+    }
+
+    /**
+     * runs the singles then the solver on every test puzzle until they cannot progress anymore,
+     * checking after each step that the unique solution of the puzzle is still possible in every cell
+     * @return the number of puzzles on which the solver removed something
+     */
+    static int assertSoundOnTestPuzzles(Solver solver) {
+        int useful = 0;
+        for (String name : TestPuzzles.STANDARD) {
+            for (String puzzle : TestPuzzles.read(name)) {
+                if (assertSound(solver, puzzle)) {
+                    useful++;
+                }
+            }
+        }
+        return useful;
+    }
+
+    /**
+     * @return whether the solver removed something from the puzzle
+     */
+    private static boolean assertSound(Solver solver, String puzzle) {
+        Grid solved = TestPuzzles.load(puzzle);
+        new DancingLinksSolver().solve(solved);
+        assertTrue(solved.isResolved(), puzzle);
+        int[] solution = TestPuzzles.values(solved);
+
+        Grid grid = TestPuzzles.load(puzzle);
+        boolean useful = false;
+        boolean changed = true;
+        while (changed && !grid.isResolved()) {
+            changed = Solvers.SINGLE_POSS_IN_GROUP.solve(grid);
+            assertKeeps(solution, grid, puzzle);
+            if (!changed) {
+                changed = solver.solve(grid);
+                useful |= changed;
+                assertKeeps(solution, grid, puzzle);
+            }
+        }
+        return useful;
+    }
+
+    private static void assertKeeps(int[] solution, Grid grid, String puzzle) {
+        for (int index = 0; index < solution.length; index++) {
+            if (!grid.getCell(index).isPossible(solution[index])) {
+                fail(grid.getCell(index).getPositionString() + " lost its value " + solution[index] + " in " + puzzle);
+            }
+        }
+        assertFalse(grid.hasContradiction(), puzzle);
+    }
+}
\ No newline at end of file
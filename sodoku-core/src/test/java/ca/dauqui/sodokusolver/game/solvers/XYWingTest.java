@@ -0,0 +1,59 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import org.junit.jupiter.api.Test;
+
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertEliminates;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertOnlyEliminatedBy;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertSoundOnTestPuzzles;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.index;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.without;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XYWingTest {
+
+    @Test
+    void theThirdValueIsRemovedFromTheCellsSeeingBothPincers() {
+        Grid grid = new Grid();
+        // pivot 12, pincer 13 on its line and pincer 23 on its column
+        grid.getCell(0, 0).keepValues(1, 2);
+        grid.getCell(4, 0).keepValues(1, 3);
+        grid.getCell(0, 4).keepValues(2, 3);
+
+        int[] expected = grid.copyCandidates();
+        without(expected, index(grid, 4, 4), 3);
+        assertOnlyEliminatedBy(Solvers.XY_WING, grid, expected);
+    }
+
+    @Test
+    void pincersInTheBlockOfThePivotShareMoreCells() {
+        Grid grid = new Grid();
+        // pivot 12, pincer 13 in its block and pincer 23 on its line
+        grid.getCell(0, 0).keepValues(1, 2);
+        grid.getCell(1, 1).keepValues(1, 3);
+        grid.getCell(5, 0).keepValues(2, 3);
+
+        int[] expected = grid.copyCandidates();
+        for (int x : new int[]{1, 2}) {
+            without(expected, index(grid, x, 0), 3);
+        }
+        for (int x : new int[]{3, 4, 5}) {
+            without(expected, index(grid, x, 1), 3);
+        }
+        assertOnlyEliminatedBy(Solvers.XY_WING, grid, expected);
+    }
+
+    @Test
+    void nothingIsRemovedWhenThePincersShareTheirOtherValue() {
+        Grid grid = new Grid();
+        grid.getCell(0, 0).keepValues(1, 2);
+        grid.getCell(4, 0).keepValues(1, 3);
+        grid.getCell(0, 4).keepValues(1, 3);
+        assertEliminates(new XYWing(), grid, grid.copyCandidates());
+    }
+
+    @Test
+    void theSolutionOfTheTestPuzzlesIsKept() {
+        assertTrue(assertSoundOnTestPuzzles(new XYWing()) > 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package ca.dauqui.sodokusolver.game.solvers;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import org.junit.jupiter.api.Test;
+
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertEliminates;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertOnlyEliminatedBy;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.assertSoundOnTestPuzzles;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.index;
+import static ca.dauqui.sodokusolver.game.solvers.SolverAssertions.without;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XYZWingTest {
+
+    @Test
+    void theSharedValueIsRemovedFromTheCellsSeeingAllThree() {
+        Grid grid = new Grid();
+        // pivot 123, pincer 13 in its block and pincer 23 on its line
+        grid.getCell(0, 0).keepValues(1, 2, 3);
+        grid.getCell(1, 1).keepValues(1, 3);
+        grid.getCell(4, 0).keepValues(2, 3);
+
+        int[] expected = grid.copyCandidates();
+        for (int x : new int[]{1, 2}) {
+            without(expected, index(grid, x, 0), 3);
+        }
+        assertOnlyEliminatedBy(Solvers.XYZ_WING, grid, expected);
+    }
+
+    @Test
+    void nothingIsRemovedWhenThePincersAreNotInThePivot() {
+        Grid grid = new Grid();
+        grid.getCell(0, 0).keepValues(1, 2, 3);
+        grid.getCell(1, 1).keepValues(1, 4);
+        grid.getCell(4, 0).keepValues(2, 4);
+        assertEliminates(new XYZWing(), grid, grid.copyCandidates());
+    }
+
+    @Test
+    void theSolutionOfTheTestPuzzlesIsKept() {
+        assertTrue(assertSoundOnTestPuzzles(new XYZWing()) > 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package ca.dauqui.sodokusolver.generator;
+
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.solvers.Difficulty;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleGeneratorTest {
+
+    @Test
+    void theDifficultiesNeverReachedAreRefusedAtOnce() {
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new PuzzleGenerator(2).generate(new SplittableRandom(1), Difficulty.MEDIUM));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new PuzzleGenerator(4).generate(new SplittableRandom(1), Difficulty.EASY));
+        });
+        assertFalse(PuzzleGenerator.canGenerate(2, Difficulty.EXPERT));
+        assertFalse(PuzzleGenerator.canGenerate(4, Difficulty.HARD));
+        for (Difficulty difficulty : Difficulty.values()) {
+            assertTrue(PuzzleGenerator.canGenerate(Grid.BLOCK_SIZE, difficulty), difficulty.name());
+        }
+    }
+
+    @Test
+    void theMinimal4x4PuzzlesAreEasy() {
+        PuzzleGenerator generator = new PuzzleGenerator(2);
+        SplittableRandom random = new SplittableRandom(11);
+        for (int count = 0; count < 2000; count++) {
+            generator.generate(random);
+            assertEquals(Difficulty.EASY, generator.getDifficulty(), "puzzle " + count);
+        }
+    }
+
+    @Test
+    void theMinimal16x16PuzzlesNeedASearch() {
+        PuzzleGenerator generator = new PuzzleGenerator(4);
+        SplittableRandom random = new SplittableRandom(11);
+        for (int count = 0; count < 3; count++) {
+            generator.generate(random);
+            assertEquals(Difficulty.EXPERT, generator.getDifficulty(), "puzzle " + count);
+        }
+    }
+
+    @Test
+    void theSearchForADifficultyGivesUp() {
+        Difficulty first = generate(new PuzzleGenerator(), 5);
+        // the same seed gives the same first puzzle, so another difficulty is not found in one attempt
+        Difficulty other = first == Difficulty.EASY ? Difficulty.EXPERT : Difficulty.EASY;
+        assertThrows(IllegalStateException.class,
+                () -> new PuzzleGenerator().generate(new SplittableRandom(5), other, 1));
+    }
+
+    @Test
+    void theWantedDifficultyIsFound() {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        generator.generate(new SplittableRandom(3), Difficulty.HARD);
+        assertEquals(Difficulty.HARD, generator.getDifficulty());
+
+        PuzzleGenerator small = new PuzzleGenerator(2);
+        int[] puzzle = small.generate(new SplittableRandom(3), Difficulty.EASY);
+        assertEquals(Difficulty.EASY, small.getDifficulty());
+        assertEquals(16, puzzle.length);
+        Grid grid = new Grid(2);
+        assertTrue(grid.loadGivens(puzzle));
+        assertEquals(Difficulty.EASY, Difficulty.rate(grid));
+    }
+
+    @Test
+    void theSameSeedGivesTheSamePuzzle() {
+        int[] first = new PuzzleGenerator().generate(new SplittableRandom(7)).clone();
+        int[] second = new PuzzleGenerator().generate(new SplittableRandom(7));
+        assertArrayEquals(first, second);
+        assertNotEquals(0, Arrays.stream(first).filter(value -> value != 0).count());
+    }
+
+    @Test
+    void largeGridsAreRefused() {
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleGenerator(Grid.MAX_BLOCK_SIZE));
+    }
+
+    private static Difficulty generate(PuzzleGenerator generator, long seed) {
+        generator.generate(new SplittableRandom(seed));
+        return generator.getDifficulty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package ca.dauqui.sodokusolver;
+
+import ca.dauqui.sodokusolver.batch.BatchGenerator;
+import ca.dauqui.sodokusolver.batch.BatchSolver;
+import ca.dauqui.sodokusolver.gui.MainWindow;
+import javafx.application.Application;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class Main {
+    public static void main(String[] args) throws IOException {
+        // --batch input [output] solves a file of puzzles without starting the gui
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchSolver.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // --generate count [output] generates puzzles without starting the gui
+        if (args.length > 0 && args[0].equals("--generate")) {
+            BatchGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        Application.launch(MainWindow.class, args);
+    }
+}
\ No newline at end of file
@@ -1,10 +1,16 @@
 package ca.dauqui.sodokusolver.gui;
 
 
+import ca.dauqui.sodokusolver.game.Candidates;
 import ca.dauqui.sodokusolver.game.Cell;
 import javafx.beans.binding.Bindings;
+import javafx.beans.binding.BooleanBinding;
 import javafx.beans.binding.ObjectBinding;
 import javafx.beans.binding.StringBinding;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
 import javafx.scene.layout.*;
@@ -27,6 +33,19 @@ class CellShow extends StackPane {
      */
     private final Cell cell;
 
+    /**
+     * copy of the candidate mask of the cell, kept in sync by {@link #sync()}
+     */
+    private final IntegerProperty possibilities = new SimpleIntegerProperty();
+    /**
+     * copy of the manually set state of the cell, kept in sync by {@link #sync()}
+     */
+    private final BooleanProperty set = new SimpleBooleanProperty();
+    /**
+     * whether the value of the cell is chosen (it is the last possible value of the cell)
+     */
+    private final BooleanBinding chosen;
+
     /**
      * the insets value for the border
      * the grid lines are created by each cell to be able to do borders of single and double line width
@@ -35,6 +54,8 @@ class CellShow extends StackPane {
 
     public CellShow(Cell cell, MainScene gridPane) {
         this.cell = cell;
+        chosen = Bindings.createBooleanBinding(() -> Candidates.count(possibilities.get()) == 1, possibilities);
+        sync();
 
         setMinHeight(75);
         setPrefHeight(75);
@@ -46,18 +67,18 @@ class CellShow extends StackPane {
         setCellStyle(UNSELECTED_COLOR);
 
         // This pane shows all possibilities that can be set in this cell
-        GridPane possibilities = new GridPane();
+        GridPane possibilitiesPane = new GridPane();
         // Will be visible only if the cell value isn't chosen
-        possibilities.visibleProperty().bind(cell.isChosenProperty().not());
+        possibilitiesPane.visibleProperty().bind(chosen.not());
 
         for(int i = 0; i < 3; i++) {
             ColumnConstraints columnConstraints = new ColumnConstraints();
             columnConstraints.setPercentWidth(34); // adds up to more than 100% so each column will be equals
-            possibilities.getColumnConstraints().add(columnConstraints);
+            possibilitiesPane.getColumnConstraints().add(columnConstraints);
 
             RowConstraints rowConstraints = new RowConstraints();
             rowConstraints.setPercentHeight(34); // adds up to more than 100% so each column will be equals
-            possibilities.getRowConstraints().add(rowConstraints);
+            possibilitiesPane.getRowConstraints().add(rowConstraints);
         }
 
         for (int i = 0; i < 3; i++) {
@@ -68,19 +89,19 @@ class CellShow extends StackPane {
                 label.setFont(Font.font("Arial", FontWeight.BOLD, 20));
                 label.setText(value+"");
                 // the value of this position is shown only if it is a valid value for the puzzle
-                label.visibleProperty().bind(Bindings.createBooleanBinding( () -> cell.getReadOnlyPossibilities().contains( value ), cell.getReadOnlyPossibilities() ));
+                label.visibleProperty().bind(Bindings.createBooleanBinding( () -> Candidates.contains( possibilities.get(), value ), possibilities ));
 
                 StackPane toCenter = new StackPane();
                 toCenter.getChildren().add(label);
                 StackPane.setAlignment(label, Pos.CENTER);
 
-                possibilities.add(toCenter, i, j);
+                possibilitiesPane.add(toCenter, i, j);
             }
         }
 
         // This pane shows the number chosen for the cell
         StackPane chosenValue = new StackPane();
-        chosenValue.visibleProperty().bind(cell.isChosenProperty());
+        chosenValue.visibleProperty().bind(chosen);
 
         Text chosenValueLabel = new Text();
         chosenValueLabel.setFont(Font.font("Arial", FontWeight.BOLD, 60));
@@ -88,13 +109,13 @@ class CellShow extends StackPane {
         // sets the only valid number from the cell (i.e.: the chosen value)
         chosenValueLabel.textProperty().bind(new StringBinding() {
             {
-                bind(cell.getReadOnlyPossibilities());
+                bind(possibilities);
             }
 
             @Override
             protected String computeValue() {
-                if (cell.getReadOnlyPossibilities().size() == 1) {
-                    return cell.getReadOnlyPossibilities().toArray()[0].toString();
+                if (Candidates.count(possibilities.get()) == 1) {
+                    return Integer.toString(Candidates.first(possibilities.get()));
                 }
                 else
                     return "";
@@ -104,11 +125,11 @@ class CellShow extends StackPane {
         // Sets the color of the chosen value depending on whether it was manually set or automatically found
         chosenValueLabel.fillProperty().bind(new ObjectBinding<>() {
             {
-                bind(cell.isSetProperty());
+                bind(set);
             }
             @Override
             protected Paint computeValue() {
-                if (cell.isSetProperty().get()){
+                if (set.get()){
                     return Color.BLACK;
                 }
                 return Color.BLUE;
@@ -117,8 +138,8 @@ class CellShow extends StackPane {
 
         chosenValue.getChildren().add(chosenValueLabel);
 
-        getChildren().addAll(possibilities, chosenValue);
-        StackPane.setAlignment(possibilities, Pos.CENTER);
+        getChildren().addAll(possibilitiesPane, chosenValue);
+        StackPane.setAlignment(possibilitiesPane, Pos.CENTER);
         StackPane.setAlignment(chosenValue, Pos.CENTER);
 
         // sets the focused cell based on a click event
@@ -165,15 +186,25 @@ class CellShow extends StackPane {
     }
 
     /**
-     * sets the value of the cell if a value isn't already chosen
+     * sets the value of the cell if a value isn't already chosen and the value is still possible
+     * an impossible value would leave the cell without any value, so it is ignored
      * @param i the value to be set
      */
     public void setValueTo(int i) {
-        if (!cell.isChosenProperty().get()) {
+        if (!cell.isChosen() && cell.isPossible(i)) {
             cell.setCellValue(i, true);
         }
     }
 
+    /**
+     * copies the state of the cell into the properties shown by this object
+     * called by the scene each time the grid reports a change to the cell
+     */
+    public void sync() {
+        possibilities.set(cell.getPossibilities());
+        set.set(cell.isSet());
+    }
+
     /**
      * Sets the background color of the cell and its border
      * @param color the color of the background
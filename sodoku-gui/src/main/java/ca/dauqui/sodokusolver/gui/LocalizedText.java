@@ -9,7 +9,11 @@ import javafx.beans.property.ReadOnlyStringProperty;
 public enum LocalizedText implements Localizable {
     TITLE,
     SOLVE_BUTTON,
-    RESET;
+    STOP_BUTTON,
+    RESET,
+    UNDO,
+    REDO,
+    NO_SOLUTION;
 
     private static final Localize<LocalizedText> local = new Localize<>(LocalizedText.class, "text.txt");
 
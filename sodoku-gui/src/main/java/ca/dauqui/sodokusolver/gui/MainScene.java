@@ -0,0 +1,392 @@
+package ca.dauqui.sodokusolver.gui;
+
+import ca.dauqui.sodokusolver.game.CancellationToken;
+import ca.dauqui.sodokusolver.game.Cell;
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+import ca.dauqui.sodokusolver.game.solvers.SearchEngine;
+import ca.dauqui.sodokusolver.game.solvers.SolveOutcome;
+import ca.dauqui.sodokusolver.game.solvers.Solvers;
+import ca.dauqui.sodokusolver.localization.LocalizationChoiceBox;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.*;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Main class that creates the layout of the program
+ * Also takes care of the keyboard inputs of the program
+ */
+public class MainScene extends Scene {
+
+    /**
+     * the time a solve can take before giving up, it runs in a background thread
+     * a solve stopped keeps what the solvers found
+     */
+    private static final Duration SOLVE_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * The sodoku grid
+     */
+    private final Grid grid;
+
+    /**
+     * the grid of the cell node objects because we cannot access to a specific node using x,y position from the gridPane
+     */
+    private final CellShow[][] gridAccess;
+
+    /**
+     * The cell currently selected
+     */
+    private CellShow focusedCell;
+
+    /**
+     * the number of cells with a chosen value, updated each time the grid reports a change
+     */
+    private final IntegerProperty solvedCount = new SimpleIntegerProperty(0);
+
+    /**
+     * whether the grid is resolved, derived from the number of cells with a chosen value
+     */
+    private final BooleanBinding resolved = solvedCount.isEqualTo(Grid.CELL_COUNT);
+
+    /**
+     * the marks of the grid taken before each action of the user, the latest on top
+     */
+    private final Deque<Integer> undoMarks = new ArrayDeque<>();
+    /**
+     * the marks of the grid taken before each undo, the latest on top
+     */
+    private final Deque<Integer> redoMarks = new ArrayDeque<>();
+
+    /**
+     * whether a solve runs in the background, the grid cannot be changed by the user meanwhile
+     */
+    private final BooleanProperty solving = new SimpleBooleanProperty(false);
+    /**
+     * the token to stop the solve running in the background, null when no solve runs
+     */
+    private CancellationToken solveToken;
+    /**
+     * tells the user when the last solve found no solution, empty otherwise
+     */
+    private final Label solveStatus = new Label();
+
+    public MainScene() {
+        super(new BorderPane());
+        BorderPane root = (BorderPane) getRoot();
+        grid = new Grid();
+
+        GridPane gridPane  = new GridPane();
+        // this is to have a direct access to the cellshow that are in the gridpane since we cannot access the data in the gridpane in a fast way
+        gridAccess = new CellShow[9][9];
+
+        gridPane.minHeight(675);
+        gridPane.maxHeight(675);
+        gridPane.prefHeight(675);
+
+        gridPane.minWidth(675);
+        gridPane.maxWidth(675);
+        gridPane.prefWidth(675);
+
+        for(int i = 0; i < 9; i++) {
+            ColumnConstraints columnConstraints = new ColumnConstraints();
+            columnConstraints.setPercentWidth(12); // adds up to more than 100% so each column will be equals
+            gridPane.getColumnConstraints().add(columnConstraints);
+
+            RowConstraints rowConstraints = new RowConstraints();
+            rowConstraints.setPercentHeight(12); // adds up to more than 100% so each column will be equals
+            gridPane.getRowConstraints().add(rowConstraints);
+        }
+
+        // Populating the gridPane, linking each gui cell with the data cell
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                CellShow cellShow = new CellShow(grid.getCell(i, j), this);
+                gridPane.add(cellShow, i, j);
+                gridAccess[i][j] = cellShow;
+            }
+        }
+
+        // the gui observes the grid to keep each cell shown in sync with the candidates of the grid
+        grid.setObserver(cell -> {
+            gridAccess[cell.getPosX()][cell.getPosY()].sync();
+            solvedCount.set(grid.getSolvedCount());
+        });
+
+        // Selecting the first cell of the grid
+        focusedCell = gridAccess[0][0];
+        focusedCell.setCellStyle(CellShow.SELECTED_COLOR);
+
+
+        root.setCenter(gridPane);
+
+
+        HBox buttonLine = new HBox();
+
+        // This button starts the solving of the puzzle, or stops the solving running
+        // it runs each solver iteratively
+        // it continues running the solvers until no more changes is made to the grid, or until it takes too long
+        Button solveButton = new Button();
+        solveButton.textProperty().bind(Bindings.when(solving)
+                .then(LocalizedText.STOP_BUTTON.localizedProperty())
+                .otherwise(LocalizedText.SOLVE_BUTTON.localizedProperty()));
+        solveButton.setOnAction(_ -> {
+            if (solveToken != null) {
+                solveToken.cancel();
+            } else {
+                startSolve();
+            }
+        });
+        buttonLine.getChildren().add(solveButton);
+
+        // This button reset the puzzle to empty
+        Button resetButton = new Button();
+        resetButton.textProperty().bind(LocalizedText.RESET.localizedProperty());
+        resetButton.setOnAction(_ -> {
+            grid.reset();
+            // the grid forgets its changes when reset
+            undoMarks.clear();
+            redoMarks.clear();
+        });
+        resetButton.setFocusTraversable(false);
+        resetButton.disableProperty().bind(solving);
+        buttonLine.getChildren().add(resetButton);
+
+        // These buttons undo and redo the actions of the user, a whole solve being a single action
+        Button undoButton = new Button();
+        undoButton.textProperty().bind(LocalizedText.UNDO.localizedProperty());
+        undoButton.setOnAction(_ -> undo());
+        undoButton.disableProperty().bind(solving);
+        buttonLine.getChildren().add(undoButton);
+
+        Button redoButton = new Button();
+        redoButton.textProperty().bind(LocalizedText.REDO.localizedProperty());
+        redoButton.setOnAction(_ -> redo());
+        redoButton.disableProperty().bind(solving);
+        buttonLine.getChildren().add(redoButton);
+
+        // simply shows if the puzzle is solved
+        Label resolvedLabel = new Label();
+        resolvedLabel.textProperty().bind(resolved.asString());
+        buttonLine.getChildren().add(resolvedLabel);
+        buttonLine.getChildren().add(solveStatus);
+
+        LocalizationChoiceBox languageChoiceBox = new LocalizationChoiceBox();
+        buttonLine.getChildren().add(languageChoiceBox);
+
+        root.setTop(buttonLine);
+
+        // these line are there to permit navigating in the sodoku grid with the arrows
+        solveButton.setFocusTraversable(false);
+        resetButton.setFocusTraversable(false);
+        undoButton.setFocusTraversable(false);
+        redoButton.setFocusTraversable(false);
+        gridPane.setFocusTraversable(true);
+
+        // Takes care of treating the key presses
+        // lets you set the number in a cell
+        // lets you navigate the grid with the arrows and wasd
+        // lets you undo with ctrl+z and redo with ctrl+y
+        setOnKeyPressed(event -> {
+            if (event.isShortcutDown()) {
+                if (event.getCode() == KeyCode.Z) {
+                    undo();
+                } else if (event.getCode() == KeyCode.Y) {
+                    redo();
+                }
+                return;
+            }
+            switch (event.getCode()) {
+                case KeyCode.DIGIT1 :
+                    doAction(() -> focusedCell.setValueTo(1));
+                    break;
+                case KeyCode.DIGIT2:
+                    doAction(() -> focusedCell.setValueTo(2));
+                    break;
+                case KeyCode.DIGIT3:
+                    doAction(() -> focusedCell.setValueTo(3));
+                    break;
+                case KeyCode.DIGIT4:
+                    doAction(() -> focusedCell.setValueTo(4));
+                    break;
+                case KeyCode.DIGIT5:
+                    doAction(() -> focusedCell.setValueTo(5));
+                    break;
+                case KeyCode.DIGIT6:
+                    doAction(() -> focusedCell.setValueTo(6));
+                    break;
+                case KeyCode.DIGIT7:
+                    doAction(() -> focusedCell.setValueTo(7));
+                    break;
+                case KeyCode.DIGIT8:
+                    doAction(() -> focusedCell.setValueTo(8));
+                    break;
+                case KeyCode.DIGIT9:
+                    doAction(() -> focusedCell.setValueTo(9));
+                    break;
+                case KeyCode.UP, KeyCode.W:
+                    moveFocusedCell(Direction.UP);
+                    break;
+                case KeyCode.DOWN, KeyCode.S:
+                    moveFocusedCell(Direction.DOWN);
+                    break;
+                case KeyCode.LEFT, KeyCode.A:
+                    moveFocusedCell(Direction.LEFT);
+                    break;
+                case KeyCode.RIGHT, KeyCode.D:
+                    moveFocusedCell(Direction.RIGHT);
+                    break;
+                default:
+                    // do nothing
+            }
+        });
+    }
+
+    /**
+     * solves a copy of the grid in a background thread, so the user interface keeps responding
+     * the copy holds the values chosen so far, what the solve found is applied to the grid as a single action
+     */
+    private void startSolve() {
+        int[] values = new int[Grid.CELL_COUNT];
+        for (int index = 0; index < Grid.CELL_COUNT; index++) {
+            values[index] = grid.getCell(index).getValue();
+        }
+        CancellationToken token = new CancellationToken();
+        solveToken = token;
+        solving.set(true);
+        solveStatus.textProperty().unbind();
+        solveStatus.setText("");
+        Thread.ofPlatform().daemon().name("solver").start(() -> {
+            Grid copy = new Grid();
+            SolveOutcome outcome = null;
+            try {
+                // givens seeing each other have no solution either
+                outcome = copy.loadGivens(values)
+                        ? Solvers.solveWithin(copy, SearchEngine.BACKTRACKING,
+                                new SolveLimit(SOLVE_TIMEOUT, Long.MAX_VALUE, token))
+                        : SolveOutcome.NO_SOLUTION;
+            } finally {
+                // the grid and the nodes are only touched from the user interface thread
+                SolveOutcome result = outcome;
+                Platform.runLater(() -> endSolve(copy, result));
+            }
+        });
+    }
+
+    /**
+     * applies what a solve found, the values it chose and the candidates it removed
+     * a puzzle without solution leaves the grid as it was, the user is told instead
+     * @param solved the copy of the grid the solve worked on
+     * @param outcome how the solve of the copy ended, null if it failed
+     */
+    private void endSolve(Grid solved, SolveOutcome outcome) {
+        solveToken = null;
+        solving.set(false);
+        if (outcome == SolveOutcome.NO_SOLUTION) {
+            solveStatus.textProperty().bind(LocalizedText.NO_SOLUTION.localizedProperty());
+        }
+        if (outcome != SolveOutcome.SOLVED && outcome != SolveOutcome.STOPPED) {
+            return;
+        }
+        doAction(() -> {
+            for (int index = 0; index < Grid.CELL_COUNT; index++) {
+                Cell cell = grid.getCell(index);
+                Cell found = solved.getCell(index);
+                if (cell.isChosen()) {
+                    continue;
+                }
+                if (found.isChosen()) {
+                    cell.setCellValue(found.getValue(), false);
+                } else {
+                    cell.keepPossibilities(found.getPossibilities());
+                }
+            }
+        });
+    }
+
+    /**
+     * runs an action of the user so it can be undone
+     * the actions that could be redone are forgotten once the grid changes
+     * nothing is done while a solve runs
+     * @param action the action changing the grid
+     */
+    private void doAction(Runnable action) {
+        if (solving.get()) {
+            return;
+        }
+        int mark = grid.mark();
+        action.run();
+        if (grid.mark() != mark) {
+            undoMarks.push(mark);
+            redoMarks.clear();
+        }
+    }
+
+    private void undo() {
+        if (!undoMarks.isEmpty() && !solving.get()) {
+            redoMarks.push(grid.mark());
+            grid.undo(undoMarks.pop());
+        }
+    }
+
+    private void redo() {
+        if (!redoMarks.isEmpty() && !solving.get()) {
+            undoMarks.push(grid.mark());
+            grid.redo(redoMarks.pop());
+        }
+    }
+
+    private void moveFocusedCell(Direction dir){
+        int y = getCellYPos(focusedCell);
+        int x = getCellXPos(focusedCell);
+
+        switch (dir){
+            case UP:
+                y = y == 0 ? 0 : y-1;
+                break;
+            case DOWN:
+                y = y == 8 ? 8 : y+1;
+                break;
+            case LEFT:
+                x = x == 0 ? 0 : x-1;
+                break;
+            case RIGHT:
+                x = x == 8 ? 8 : x+1;
+                break;
+        }
+
+        setFocusedCell(gridAccess[x][y]);
+        focusedCell.setCellStyle(CellShow.SELECTED_COLOR);
+    }
+
+    private int getCellXPos(CellShow focusedCell) {
+        return focusedCell.getCell().getPosX();
+    }
+
+    private int getCellYPos(CellShow focusedCell) {
+        return focusedCell.getCell().getPosY();
+
+    }
+
+    void setFocusedCell(CellShow cellShow) {
+        focusedCell.setCellStyle(CellShow.UNSELECTED_COLOR);
+        focusedCell = cellShow;
+    }
+
+    enum Direction{
+        UP, DOWN, LEFT, RIGHT
+    }
+}
\ No newline at end of file
@@ -1,4 +1,5 @@
 module SodokuSolver {
+    requires SodokuSolver.core;
     requires javafx.controls;
     requires java.logging;
 
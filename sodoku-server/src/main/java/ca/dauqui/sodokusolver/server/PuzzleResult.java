@@ -0,0 +1,11 @@
+package ca.dauqui.sodokusolver.server;
+
+import ca.dauqui.sodokusolver.batch.SolveStatus;
+
+/**
+ * The outcome of one puzzle of a request
+ * @param status whether the puzzle was solved, reached its limit or is invalid
+ * @param solution the solved puzzle in the one line format, null if it was not solved
+ */
+record PuzzleResult(SolveStatus status, String solution) {
+}
\ No newline at end of file
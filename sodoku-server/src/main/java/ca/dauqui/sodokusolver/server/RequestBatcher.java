@@ -0,0 +1,334 @@
+package ca.dauqui.sodokusolver.server;
+
+import ca.dauqui.sodokusolver.batch.BatchSolver;
+import ca.dauqui.sodokusolver.batch.PuzzleFormat;
+import ca.dauqui.sodokusolver.batch.SolveStatus;
+import ca.dauqui.sodokusolver.cache.SolutionCache;
+import ca.dauqui.sodokusolver.game.CancellationToken;
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.GridPool;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+import ca.dauqui.sodokusolver.game.solvers.SearchEngine;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Gathers the puzzles of the requests arriving close together and solves them as one batch
+ * <p>
+ * A single collector thread takes the first waiting request, then waits up to the window for more requests,
+ * until the batch has enough puzzles. The batch is split in slices solved in parallel by a work stealing pool,
+ * each worker thread reusing its grids (see {@link GridPool}), and each request is completed with its results
+ * by the last slice to finish. The collector goes back to collecting as soon as a batch is handed to the pool,
+ * so a large batch does not hold back the requests arriving after it.
+ * <p>
+ * The puzzles waiting or being solved are bounded: a request that would go over the bound is refused at once,
+ * so the queue and the pool cannot grow without limit.
+ * <p>
+ * The handlers of the requests only wait on their result, they never touch a grid. Each request comes with
+ * its own token, so a request given up by its handler stops being solved without stopping the rest of its batch.
+ */
+final class RequestBatcher implements AutoCloseable {
+    /**
+     * the number of slices of a batch for each worker thread, so the workers stealing from each other even out
+     * the puzzles that take longer
+     */
+    private static final int SLICES_PER_THREAD = 4;
+
+    /**
+     * the puzzles of a request, the token to give them up with and the results it waits for
+     */
+    private record Pending(byte[][] puzzles, CancellationToken token, CompletableFuture<PuzzleResult[]> results) {}
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ForkJoinPool pool;
+    private final GridPool grids = new GridPool(1);
+    private final long windowNanos;
+    private final int maxBatch;
+    private final SearchEngine engine;
+    private final SolutionCache cache;
+    private final Function<CancellationToken, SolveLimit> limits;
+    private final Thread collector;
+    /**
+     * a permit for each puzzle that can still be accepted
+     */
+    private final Semaphore capacity;
+    private final int maxPending;
+    /**
+     * the requests handed to the pool and not completed yet, failed if the batcher is closed
+     */
+    private final Set<Pending> solving = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder puzzles = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param threads the number of worker threads solving the batches
+     * @param window how long the first request of a batch waits for others
+     * @param maxBatch the number of puzzles at which a batch stops waiting for more requests
+     * @param maxPending the number of puzzles that can be waiting or being solved at once
+     * @param engine the search used when the solvers cannot progress anymore
+     * @param cache the solutions of the puzzles already seen, or null
+     * @param limits creates the limit of each puzzle from the token of its request
+     */
+    RequestBatcher(int threads, Duration window, int maxBatch, int maxPending, SearchEngine engine,
+                   SolutionCache cache, Function<CancellationToken, SolveLimit> limits) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be positive: " + maxBatch);
+        }
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("maxPending must be positive: " + maxPending);
+        }
+        capacity = new Semaphore(maxPending);
+        this.maxPending = maxPending;
+        pool = new ForkJoinPool(threads);
+        windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+        this.engine = engine;
+        this.cache = cache;
+        this.limits = limits;
+        collector = Thread.ofPlatform().name("request-batcher").daemon().start(this::collect);
+    }
+
+    /**
+     * queues the puzzles of a request for the next batch
+     * @param puzzles the puzzle lines, without their line terminators
+     * @param token cancelled when the request is given up, the puzzles not solved yet are then left unsolved
+     * @return the result of each puzzle, in the same order
+     * @throws RejectedExecutionException if there is no room for that many puzzles
+     */
+    CompletableFuture<PuzzleResult[]> submit(byte[][] puzzles, CancellationToken token) {
+        if (!capacity.tryAcquire(puzzles.length)) {
+            rejected.increment();
+            throw new RejectedExecutionException("more than " + maxPending + " puzzles would be waiting");
+        }
+        Pending pending = new Pending(puzzles, token, new CompletableFuture<>());
+        pending.results().whenComplete((results, failure) -> capacity.release(puzzles.length));
+        requests.increment();
+        queue.add(pending);
+        // a request queued after the collector stopped would never be taken
+        if (!collector.isAlive() && queue.remove(pending)) {
+            pending.results().completeExceptionally(new IllegalStateException("the batcher is closed"));
+        }
+        return pending.results();
+    }
+
+    private void collect() {
+        List<Pending> batch = new ArrayList<>();
+        try {
+            while (true) {
+                Pending first = queue.take();
+                int count = add(batch, first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (count < maxBatch) {
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    count += add(batch, next);
+                }
+                if (count > 0) {
+                    solve(List.copyOf(batch), count);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // closed, the requests still waiting are failed below
+        }
+        IllegalStateException closed = new IllegalStateException("the batcher is closed");
+        for (Pending pending : batch) {
+            pending.results().completeExceptionally(closed);
+        }
+        for (Pending pending; (pending = queue.poll()) != null; ) {
+            pending.results().completeExceptionally(closed);
+        }
+    }
+
+    /**
+     * adds a request to the batch, unless its handler already gave up on it
+     * @return the number of puzzles added
+     */
+    private static int add(List<Pending> batch, Pending pending) {
+        if (pending.token().isCancelled()) {
+            pending.results().completeExceptionally(new CancellationException("the request was given up"));
+            return 0;
+        }
+        batch.add(pending);
+        return pending.puzzles().length;
+    }
+
+    /**
+     * hands the puzzles of all the requests of a batch to the pool, the last slice to finish completes each request
+     */
+    private void solve(List<Pending> batch, int count) {
+        byte[][] lines = new byte[count][];
+        CancellationToken[] tokens = new CancellationToken[count];
+        int position = 0;
+        for (Pending pending : batch) {
+            int length = pending.puzzles().length;
+            System.arraycopy(pending.puzzles(), 0, lines, position, length);
+            Arrays.fill(tokens, position, position + length, pending.token());
+            position += length;
+        }
+
+        PuzzleResult[] results = new PuzzleResult[count];
+        int slices = Math.min(count, pool.getParallelism() * SLICES_PER_THREAD);
+        AtomicInteger remaining = new AtomicInteger(slices);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        solving.addAll(batch);
+        for (int slice = 0; slice < slices; slice++) {
+            int from = (int) ((long) count * slice / slices);
+            int to = (int) ((long) count * (slice + 1) / slices);
+            pool.execute(() -> {
+                try {
+                    solveRange(lines, tokens, results, from, to);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        complete(batch, results, failure.get());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * completes each request of a solved batch with its results, or with the failure of a slice
+     */
+    private void complete(List<Pending> batch, PuzzleResult[] results, RuntimeException failure) {
+        solving.removeAll(batch);
+        if (failure != null) {
+            for (Pending pending : batch) {
+                pending.results().completeExceptionally(failure);
+            }
+            return;
+        }
+        batches.increment();
+        puzzles.add(results.length);
+
+        int position = 0;
+        for (Pending pending : batch) {
+            int length = pending.puzzles().length;
+            pending.results().complete(Arrays.copyOfRange(results, position, position + length));
+            position += length;
+        }
+    }
+
+    /**
+     * solves some of the puzzles of a batch in a worker thread
+     */
+    private void solveRange(byte[][] lines, CancellationToken[] tokens, PuzzleResult[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte[] line = lines[i];
+            CancellationToken token = tokens[i];
+            int blockSize = PuzzleFormat.blockSizeOf(line.length);
+            if (blockSize == 0) {
+                results[i] = new PuzzleResult(SolveStatus.INVALID, null);
+                continue;
+            }
+            Grid grid = grids.acquire(blockSize);
+            try {
+                SolveStatus status = BatchSolver.solve(grid, line, 0, line.length, engine, cache,
+                        () -> limits.apply(token));
+                String solution = null;
+                if (status == SolveStatus.SOLVED) {
+                    byte[] solved = new byte[grid.getCellCount()];
+                    PuzzleFormat.write(grid, solved, 0);
+                    solution = new String(solved, StandardCharsets.US_ASCII);
+                }
+                results[i] = new PuzzleResult(status, solution);
+            } finally {
+                grids.release(grid);
+            }
+        }
+    }
+
+    /**
+     * @return the number of requests submitted
+     */
+    long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return the number of batches solved
+     */
+    long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * @return the number of puzzles solved in all the batches
+     */
+    long getPuzzles() {
+        return puzzles.sum();
+    }
+
+    /**
+     * @return the number of requests refused because too many puzzles were waiting
+     */
+    long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of puzzles that can be waiting or being solved at once
+     */
+    int getMaxPending() {
+        return maxPending;
+    }
+
+    /**
+     * @return the pool of the grids of the worker threads
+     */
+    GridPool getGrids() {
+        return grids;
+    }
+
+    /**
+     * stops the collector and the workers, the requests still waiting fail
+     */
+    @Override
+    public void close() {
+        collector.interrupt();
+        try {
+            collector.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pool.shutdownNow();
+        // the slices that never ran will not complete their requests
+        IllegalStateException closed = new IllegalStateException("the batcher is closed");
+        for (Pending pending : solving) {
+            pending.results().completeExceptionally(closed);
+        }
+    }
+
+    @Override
+    public String toString() {
+        long batchCount = getBatches();
+        return "requests: " + getRequests() + ", rejected: " + getRejected() + ", batches: " + batchCount
+                + ", puzzles: " + getPuzzles()
+                + ", puzzles per batch: " + (batchCount == 0 ? 0 : getPuzzles() / batchCount);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,374 @@
+package ca.dauqui.sodokusolver.server;
+
+import ca.dauqui.sodokusolver.batch.SolveStatus;
+import ca.dauqui.sodokusolver.cache.SolutionCache;
+import ca.dauqui.sodokusolver.game.CancellationToken;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+import ca.dauqui.sodokusolver.game.solvers.SearchEngine;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The solver as a small HTTP service on the loopback interface
+ * <p>
+ * POST /solve takes one puzzle or many, one per line in the format of the batch solver, and answers one result
+ * per puzzle in the same order: in plain text the solution or the marker of the status, like the batch solver,
+ * or in JSON with ?format=json or an Accept header asking for it.
+ * GET /solve?puzzle=... solves a single puzzle. GET /stats tells how the requests were batched.
+ * <p>
+ * Each request is handled in its own virtual thread, which only waits for its results: the puzzles of
+ * the requests arriving close together are solved together by a {@link RequestBatcher}.
+ * A request not answered within its deadline gets a 503, and its puzzles not solved yet are given up.
+ * <p>
+ * The work accepted is bounded: past the maximum number of requests handled at once a request gets a 503
+ * before its body is read, and past the maximum number of puzzles waiting or being solved it gets a 429.
+ * Both come with a Retry-After header.
+ * <p>
+ * Usage: SolverServer [--port n] [--threads n] [--engine backtracking|dancing_links] [--cache size] [--timeout ms]
+ * [--max-nodes n] [--window ms] [--max-batch n] [--deadline ms] [--max-requests n] [--max-pending n]
+ * The default port is 8080, the default window 2 ms, the default batch 4096 puzzles, the default deadline 60 s,
+ * the default maximum 64 requests and 65536 puzzles, the other options are the ones of the batch solver
+ */
+public final class SolverServer {
+    /**
+     * the largest request body accepted, about 12000 standard puzzles
+     */
+    private static final int MAX_BODY = 1 << 20;
+    /**
+     * the seconds a refused client is told to wait before trying again
+     */
+    private static final String RETRY_AFTER = "1";
+
+    private final HttpServer server;
+    private final RequestBatcher batcher;
+    private final SolutionCache cache;
+    /**
+     * cancelled when the server stops, so the puzzles being solved give up
+     */
+    private final CancellationToken shutdown;
+    /**
+     * how long a request waits for its results
+     */
+    private final Duration deadline;
+    /**
+     * a permit for each request that can still be handled, so the bodies read at once stay bounded
+     */
+    private final Semaphore requestSlots;
+
+    private SolverServer(HttpServer server, RequestBatcher batcher, SolutionCache cache, CancellationToken shutdown,
+                         Duration deadline, int maxRequests) {
+        this.server = server;
+        this.requestSlots = new Semaphore(maxRequests);
+        this.batcher = batcher;
+        this.cache = cache;
+        this.shutdown = shutdown;
+        this.deadline = deadline;
+        server.createContext("/solve", this::handleSolve);
+        server.createContext("/stats", this::handleStats);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        int threads = Runtime.getRuntime().availableProcessors();
+        SearchEngine engine = SearchEngine.BACKTRACKING;
+        SolutionCache cache = null;
+        Duration timeout = null;
+        long maxNodes = Long.MAX_VALUE;
+        Duration window = Duration.ofMillis(2);
+        int maxBatch = 4096;
+        Duration deadline = Duration.ofSeconds(60);
+        int maxRequests = 64;
+        int maxPending = 65536;
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                usage();
+            }
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--engine" -> engine = SearchEngine.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                case "--cache" -> cache = new SolutionCache(Integer.parseInt(args[++i]));
+                case "--timeout" -> timeout = Duration.ofMillis(Long.parseLong(args[++i]));
+                case "--max-nodes" -> maxNodes = Long.parseLong(args[++i]);
+                case "--window" -> window = Duration.ofMillis(Long.parseLong(args[++i]));
+                case "--max-batch" -> maxBatch = Integer.parseInt(args[++i]);
+                case "--deadline" -> deadline = Duration.ofMillis(Long.parseLong(args[++i]));
+                case "--max-requests" -> maxRequests = Integer.parseInt(args[++i]);
+                case "--max-pending" -> maxPending = Integer.parseInt(args[++i]);
+                default -> usage();
+            }
+        }
+
+        SolverServer solverServer = start(port, threads, engine, cache, timeout, maxNodes, window, maxBatch,
+                deadline, maxRequests, maxPending);
+        Runtime.getRuntime().addShutdownHook(new Thread(solverServer::stop));
+        System.err.println("listening on http://localhost:" + solverServer.getPort() + "/solve");
+    }
+
+    private static void usage() {
+        System.err.println("Usage: SolverServer [--port n] [--threads n] [--engine backtracking|dancing_links] "
+                + "[--cache size] [--timeout ms] [--max-nodes n] [--window ms] [--max-batch n] [--deadline ms] "
+                + "[--max-requests n] [--max-pending n]");
+        System.exit(2);
+    }
+
+    /**
+     * starts a server on the loopback interface
+     * @param port the port to listen to, 0 for any free port
+     * @param threads the number of worker threads solving the batches
+     * @param engine the search used when the solvers cannot progress anymore
+     * @param cache the solutions of the puzzles already seen, or null
+     * @param timeout the time each puzzle can take, or null for no limit
+     * @param maxNodes the search nodes each puzzle can visit, {@link Long#MAX_VALUE} for no limit
+     * @param window how long the first request of a batch waits for others
+     * @param maxBatch the number of puzzles at which a batch stops waiting for more requests
+     * @param deadline how long a request waits for its results before its puzzles are given up
+     * @param maxRequests the number of requests handled at once, the others get a 503
+     * @param maxPending the number of puzzles waiting or being solved at once, the requests going over get a 429
+     * @return the running server
+     * @throws IOException if the port cannot be listened to
+     */
+    public static SolverServer start(int port, int threads, SearchEngine engine, SolutionCache cache,
+                                     Duration timeout, long maxNodes, Duration window, int maxBatch,
+                                     Duration deadline, int maxRequests, int maxPending) throws IOException {
+        if (maxRequests <= 0) {
+            throw new IllegalArgumentException("maxRequests must be positive: " + maxRequests);
+        }
+        CancellationToken shutdown = new CancellationToken();
+        RequestBatcher batcher = new RequestBatcher(threads, window, maxBatch, maxPending, engine, cache,
+                token -> new SolveLimit(timeout, maxNodes, token));
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        SolverServer solverServer = new SolverServer(server, batcher, cache, shutdown, deadline, maxRequests);
+        server.start();
+        return solverServer;
+    }
+
+    /**
+     * @return the port the server listens to
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * stops the server, the puzzles being solved give up and the requests still waiting fail
+     */
+    public void stop() {
+        shutdown.cancel();
+        server.stop(0);
+        batcher.close();
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!requestSlots.tryAcquire()) {
+                exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER);
+                send(exchange, 503, "text/plain", "too many requests at once\n");
+                return;
+            }
+            try {
+                handleSolveRequest(exchange);
+            } finally {
+                requestSlots.release();
+            }
+        }
+    }
+
+    private void handleSolveRequest(HttpExchange exchange) throws IOException {
+        List<byte[]> puzzles;
+        switch (exchange.getRequestMethod()) {
+            case "GET" -> {
+                String puzzle = queryParameter(exchange, "puzzle");
+                puzzles = puzzle == null ? List.of() : splitLines(puzzle.getBytes(StandardCharsets.US_ASCII),
+                        puzzle.length());
+            }
+            case "POST" -> {
+                InputStream body = exchange.getRequestBody();
+                byte[] bytes = body.readNBytes(MAX_BODY + 1);
+                if (bytes.length > MAX_BODY) {
+                    send(exchange, 413, "text/plain", "the body is larger than " + MAX_BODY + " bytes\n");
+                    return;
+                }
+                puzzles = splitLines(bytes, bytes.length);
+            }
+            default -> {
+                exchange.getResponseHeaders().set("Allow", "GET, POST");
+                send(exchange, 405, "text/plain", "use GET or POST\n");
+                return;
+            }
+        }
+        if (puzzles.isEmpty()) {
+            send(exchange, 400, "text/plain", "no puzzle given\n");
+            return;
+        }
+        if (puzzles.size() > batcher.getMaxPending()) {
+            send(exchange, 413, "text/plain", "more than " + batcher.getMaxPending() + " puzzles\n");
+            return;
+        }
+
+        // the token of the request is also cancelled when the server stops
+        CancellationToken token = new CancellationToken(shutdown);
+        PuzzleResult[] results;
+        try {
+            results = batcher.submit(puzzles.toArray(byte[][]::new), token)
+                    .get(deadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER);
+            send(exchange, 429, "text/plain", "too many puzzles waiting\n");
+            return;
+        } catch (TimeoutException e) {
+            send(exchange, 503, "text/plain", "no answer within " + deadline.toMillis() + " ms\n");
+            return;
+        } catch (CancellationException e) {
+            // the token was cancelled while the request was waiting, the server is stopping
+            send(exchange, 503, "text/plain", "the server is stopping\n");
+            return;
+        } catch (ExecutionException e) {
+            // the batcher only fails the requests when it is closed or a batch failed as a whole
+            send(exchange, 503, "text/plain", "the puzzles could not be solved\n");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 503, "text/plain", "interrupted\n");
+            return;
+        } finally {
+            // the puzzles of a request nobody waits for anymore are not worth solving
+            token.cancel();
+        }
+        if (wantsJson(exchange)) {
+            send(exchange, 200, "application/json", toJson(results));
+        } else {
+            send(exchange, 200, "text/plain", toText(results));
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String stats = "batcher " + batcher + "\ngrid pool " + batcher.getGrids() + "\n";
+            if (cache != null) {
+                stats += "cache " + cache + "\n";
+            }
+            send(exchange, 200, "text/plain", stats);
+        }
+    }
+
+    /**
+     * splits a body in puzzle lines, without their line terminators nor the spaces around them
+     * empty lines are skipped
+     */
+    private static List<byte[]> splitLines(byte[] bytes, int length) {
+        List<byte[]> lines = new ArrayList<>();
+        int start = 0;
+        for (int end = 0; end <= length; end++) {
+            if (end == length || bytes[end] == '\n') {
+                int from = start;
+                int to = end;
+                while (from < to && bytes[from] <= ' ') {
+                    from++;
+                }
+                while (to > from && bytes[to - 1] <= ' ') {
+                    to--;
+                }
+                if (to > from) {
+                    byte[] line = new byte[to - from];
+                    System.arraycopy(bytes, from, line, 0, line.length);
+                    lines.add(line);
+                }
+                start = end + 1;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * @return the value of a parameter of the query, or null if it is not there
+     */
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0 && parameter.substring(0, equals).equals(name)) {
+                return URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.US_ASCII);
+            }
+        }
+        return null;
+    }
+
+    private static boolean wantsJson(HttpExchange exchange) {
+        String format = queryParameter(exchange, "format");
+        if (format != null) {
+            return format.equalsIgnoreCase("json");
+        }
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        return accept != null && accept.contains("application/json");
+    }
+
+    /**
+     * one line per puzzle, the solution or the marker of the status, like the output of the batch solver
+     */
+    private static String toText(PuzzleResult[] results) {
+        StringBuilder text = new StringBuilder();
+        for (PuzzleResult result : results) {
+            text.append(result.solution() != null ? result.solution() : statusName(result.status())).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * the number of puzzles of each status, then the result of each puzzle
+     * the solutions only contain digits and letters, so nothing needs to be escaped
+     */
+    private static String toJson(PuzzleResult[] results) {
+        long[] counts = new long[SolveStatus.values().length];
+        StringBuilder items = new StringBuilder();
+        for (PuzzleResult result : results) {
+            counts[result.status().ordinal()]++;
+            if (!items.isEmpty()) {
+                items.append(',');
+            }
+            items.append("{\"status\":\"").append(statusName(result.status())).append('"');
+            if (result.solution() != null) {
+                items.append(",\"solution\":\"").append(result.solution()).append('"');
+            }
+            items.append('}');
+        }
+        StringBuilder json = new StringBuilder("{");
+        for (SolveStatus status : SolveStatus.values()) {
+            json.append('"').append(statusName(status)).append("\":").append(counts[status.ordinal()]).append(',');
+        }
+        return json.append("\"results\":[").append(items).append("]}\n").toString();
+    }
+
+    private static String statusName(SolveStatus status) {
+        return status.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static void send(HttpExchange exchange, int code, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,4 @@
+module SodokuSolver.server {
+    requires SodokuSolver.core;
+    requires jdk.httpserver;
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package ca.dauqui.sodokusolver.server;
+
+import ca.dauqui.sodokusolver.batch.SolveStatus;
+import ca.dauqui.sodokusolver.game.CancellationToken;
+import ca.dauqui.sodokusolver.game.Grid;
+import ca.dauqui.sodokusolver.game.SolveLimit;
+import ca.dauqui.sodokusolver.game.solvers.SearchEngine;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestBatcherTest {
+    private static final List<String> PUZZLES = List.of(
+            "359.2..8.421...........4.35.93.....868.9....41....3.9...4.5.82..7.....1.2...6....",
+            "6.3.........5.3.8.....19.5..72...69.8..7....4....5...1..83..9427.9421...42.......",
+            "......45.....28..3....4..7..8...3..6..5..7....37....9.9..2.1.355...6..........942");
+    private static final String EMPTY = ".".repeat(Grid.CELL_COUNT);
+    private static final Function<CancellationToken, SolveLimit> NO_LIMIT =
+            token -> new SolveLimit(null, Long.MAX_VALUE, token);
+
+    @Test
+    void theRequestsArrivingTogetherAreSolvedInOneBatch() throws Exception {
+        try (RequestBatcher batcher = new RequestBatcher(2, Duration.ofMillis(200), 1000, 1000,
+                SearchEngine.DANCING_LINKS, null, NO_LIMIT)) {
+            List<CompletableFuture<PuzzleResult[]>> requests = new ArrayList<>();
+            for (String puzzle : PUZZLES) {
+                requests.add(batcher.submit(lines(puzzle, "1234"), new CancellationToken()));
+            }
+            for (int i = 0; i < PUZZLES.size(); i++) {
+                PuzzleResult[] results = requests.get(i).get(10, TimeUnit.SECONDS);
+                assertEquals(2, results.length);
+                assertSolves(PUZZLES.get(i), results[0]);
+                // a line of no puzzle size
+                assertEquals(SolveStatus.INVALID, results[1].status());
+                assertNull(results[1].solution());
+            }
+            assertEquals(PUZZLES.size(), batcher.getRequests());
+            assertEquals(1, batcher.getBatches());
+            assertEquals(2L * PUZZLES.size(), batcher.getPuzzles());
+        }
+    }
+
+    @Test
+    void aPuzzleReachingItsLimitIsUnsolved() throws Exception {
+        try (RequestBatcher batcher = new RequestBatcher(1, Duration.ZERO, 1000, 1000, SearchEngine.BACKTRACKING,
+                null, token -> new SolveLimit(null, 0, token))) {
+            PuzzleResult[] results = batcher.submit(lines(EMPTY), new CancellationToken()).get(10, TimeUnit.SECONDS);
+            assertEquals(SolveStatus.UNSOLVED, results[0].status());
+        }
+    }
+
+    @Test
+    void theRequestsOverThePendingPuzzlesAreRefused() throws Exception {
+        try (RequestBatcher batcher = new RequestBatcher(1, Duration.ofMillis(200), 1000, 2,
+                SearchEngine.DANCING_LINKS, null, NO_LIMIT)) {
+            CompletableFuture<PuzzleResult[]> first = batcher.submit(lines(PUZZLES.get(0), PUZZLES.get(1)),
+                    new CancellationToken());
+            assertThrows(RejectedExecutionException.class,
+                    () -> batcher.submit(lines(PUZZLES.get(2)), new CancellationToken()));
+            assertEquals(1, batcher.getRejected());
+            first.get(10, TimeUnit.SECONDS);
+
+            // the permits come back once the first request is complete
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            CompletableFuture<PuzzleResult[]> next = null;
+            while (next == null && System.nanoTime() < deadline) {
+                try {
+                    next = batcher.submit(lines(PUZZLES.get(2)), new CancellationToken());
+                } catch (RejectedExecutionException e) {
+                    Thread.onSpinWait();
+                }
+            }
+            assertSolves(PUZZLES.get(2), next.get(10, TimeUnit.SECONDS)[0]);
+        }
+    }
+
+    @Test
+    void aRequestGivenUpBeforeItsBatchIsSkipped() {
+        try (RequestBatcher batcher = new RequestBatcher(1, Duration.ofMillis(50), 1000, 1000,
+                SearchEngine.DANCING_LINKS, null, NO_LIMIT)) {
+            CancellationToken token = new CancellationToken();
+            token.cancel();
+            CompletableFuture<PuzzleResult[]> results = batcher.submit(lines(PUZZLES.get(0)), token);
+            assertThrows(CancellationException.class, () -> results.get(10, TimeUnit.SECONDS));
+            assertEquals(0, batcher.getPuzzles());
+        }
+    }
+
+    @Test
+    void closingFailsTheWaitingRequests() {
+        RequestBatcher batcher = new RequestBatcher(1, Duration.ofSeconds(30), 1000, 1000,
+                SearchEngine.DANCING_LINKS, null, NO_LIMIT);
+        CompletableFuture<PuzzleResult[]> results = batcher.submit(lines(PUZZLES.get(0)), new CancellationToken());
+        batcher.close();
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> results.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertTrue(batcher.submit(lines(PUZZLES.get(0)), new CancellationToken()).isCompletedExceptionally());
+    }
+
+    private static byte[][] lines(String... lines) {
+        byte[][] bytes = new byte[lines.length][];
+        for (int i = 0; i < lines.length; i++) {
+            bytes[i] = lines[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return bytes;
+    }
+
+    /**
+     * checks the solution is complete, keeps the givens and breaks no rule
+     */
+    private static void assertSolves(String puzzle, PuzzleResult result) {
+        assertEquals(SolveStatus.SOLVED, result.status(), puzzle);
+        String solution = result.solution();
+        int[] values = new int[Grid.CELL_COUNT];
+        for (int index = 0; index < values.length; index++) {
+            char given = puzzle.charAt(index);
+            if (given != '.') {
+                assertEquals(given, solution.charAt(index), puzzle);
+            }
+            values[index] = solution.charAt(index) - '0';
+        }
+        Grid grid = new Grid();
+        assertTrue(grid.loadGivens(values), puzzle);
+        assertTrue(grid.isResolved() && grid.isConsistent(), puzzle);
+    }
+}
\ No newline at end of file
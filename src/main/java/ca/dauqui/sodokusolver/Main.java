@@ -1,10 +0,0 @@
-package ca.dauqui.sodokusolver;
-
-import ca.dauqui.sodokusolver.gui.MainWindow;
-import javafx.application.Application;
-
-public class Main {
-    public static void main(String[] args) {
-        Application.launch(MainWindow.class, args);
-    }
-}
\ No newline at end of file